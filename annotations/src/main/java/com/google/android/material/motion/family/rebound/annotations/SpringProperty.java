@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a float getter or setter of a property that can be animated with {@code SpringTo}.
+ * <p>
+ * Both the getter and the setter of a property must be annotated. For each class with annotated
+ * methods, a {@code <ClassName>ReboundProperties} class is generated in the same package. It
+ * contains one {@code FloatReboundProperty} constant per property, which calls the getter and
+ * setter directly:
+ *
+ * <pre>
+ * class Card {
+ *   {@literal @}SpringProperty
+ *   float getLift() { ... }
+ *
+ *   {@literal @}SpringProperty
+ *   void setLift(float lift) { ... }
+ * }
+ *
+ * runtime.addPlan(new ObjectSpringTo<>(CardReboundProperties.LIFT, 1f), card);
+ * </pre>
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface SpringProperty {
+
+  /**
+   * The name of the property. If empty, the name is derived from the method name by removing the
+   * {@code get} or {@code set} prefix.
+   */
+  String value() default "";
+}
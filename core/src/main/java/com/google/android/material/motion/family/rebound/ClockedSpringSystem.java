@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import com.facebook.rebound.BaseSpringSystem;
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringConfig;
+import com.facebook.rebound.SpringLooper;
+
+/**
+ * A {@link BaseSpringSystem spring system} that keeps the time of the integration loop's frames,
+ * and can wake up the loop so its listeners do work even if no spring is active.
+ * <p>
+ * The frames are driven by the {@link SpringLooper looper}. On Android it follows the display's
+ * frames. Offline, a {@link FixedStepLooper} advances the loop by fixed intervals as fast as the
+ * processor allows.
+ */
+public class ClockedSpringSystem extends BaseSpringSystem {
+
+  /**
+   * A spring without listeners that is used to wake up the integration loop.
+   */
+  private final Spring heartbeat;
+  private double frameTimeMillis;
+  private int frameCount;
+
+  public ClockedSpringSystem(SpringLooper looper) {
+    super(looper);
+    heartbeat = createSpring();
+  }
+
+  /**
+   * Creates a spring in this system, with its own configuration set to the default tension and
+   * friction.
+   * <p>
+   * Rebound gives new springs a configuration shared by all springs, so changing the tension or
+   * friction of one spring would change every other spring too. Rebound also numbers springs with
+   * a counter shared by all spring systems that is not thread-safe, so spring systems on different
+   * threads create their springs one at a time.
+   */
+  @Override
+  public Spring createSpring() {
+    Spring spring;
+    synchronized (Spring.class) {
+      spring = super.createSpring();
+    }
+    spring.setSpringConfig(
+      new SpringConfig(SpringSpec.DEFAULT_TENSION, SpringSpec.DEFAULT_FRICTION));
+    return spring;
+  }
+
+  @Override
+  public void loop(double ellapsedMillis) {
+    frameTimeMillis += ellapsedMillis;
+    frameCount++;
+    super.loop(ellapsedMillis);
+  }
+
+  /**
+   * Returns the time of the current frame, in milliseconds. The clock only advances while the
+   * integration loop runs, so it is not related to wall time.
+   */
+  public double getFrameTimeMillis() {
+    return frameTimeMillis;
+  }
+
+  /**
+   * Returns the number of frames the integration loop has run.
+   */
+  public int getFrameCount() {
+    return frameCount;
+  }
+
+  /**
+   * Ensures that the integration loop runs at least one more time, so that {@link
+   * com.facebook.rebound.SpringSystemListener listeners} are notified on the next frame.
+   */
+  public void requestFrame() {
+    heartbeat.setCurrentValue(0);
+  }
+}
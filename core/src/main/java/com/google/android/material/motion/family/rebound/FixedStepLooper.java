@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import com.facebook.rebound.SpringLooper;
+
+/**
+ * A {@link SpringLooper looper} that runs the integration loop only when {@link #step(long)
+ * stepped}, for simulations and tests.
+ * <p>
+ * Unlike {@link com.facebook.rebound.SteppingLooper}, which passes the total time since the loop
+ * started to every frame, this looper passes the time since the previous frame, as the looper on
+ * Android does.
+ */
+public class FixedStepLooper extends SpringLooper {
+
+  private boolean started;
+
+  @Override
+  public void start() {
+    started = true;
+  }
+
+  @Override
+  public void stop() {
+    started = false;
+  }
+
+  /**
+   * Runs one frame of the integration loop, if it is running.
+   *
+   * @param frameMillis The time since the previous frame, in milliseconds.
+   * @return True if the spring system is idle after the frame. False if the loop is not running.
+   */
+  public boolean step(long frameMillis) {
+    if (mSpringSystem == null || !started) {
+      return false;
+    }
+    mSpringSystem.loop(frameMillis);
+    return mSpringSystem.getIsIdle();
+  }
+
+  /**
+   * Throws if a simulation would step by {@code frameMillis}, since frames that do not advance the
+   * clock never reach a time limit.
+   *
+   * @throws IllegalArgumentException If {@code frameMillis} is not positive.
+   */
+  static void checkFrameMillis(long frameMillis) {
+    if (frameMillis <= 0) {
+      throw new IllegalArgumentException(
+        "Frame interval must be positive, but is " + frameMillis + " ms.");
+    }
+  }
+}
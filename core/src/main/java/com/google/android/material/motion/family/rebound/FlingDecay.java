@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import java.util.Arrays;
+
+/**
+ * The analytic solution of a fling that decays with exponential friction, and the snap point
+ * chosen for it.
+ * <p>
+ * The velocity after {@code t} seconds is {@code v0 * e^(-rate * t)}, so the fling comes to rest
+ * {@code v0 / rate} from where it started.
+ */
+class FlingDecay {
+
+  private final double startPosition;
+  private final double startVelocity;
+  private final double rate;
+
+  /**
+   * The value the fling hands off to a spring at.
+   */
+  final float snapPoint;
+  /**
+   * The frame time the fling started at, in milliseconds. NaN until the first frame.
+   */
+  double startTimeMillis = Double.NaN;
+
+  /**
+   * @throws IllegalArgumentException If {@code rate} is not positive, since the fling would never
+   * come to rest.
+   */
+  FlingDecay(double startPosition, double startVelocity, double rate, float[] snapPoints) {
+    if (!(rate > 0)) {
+      throw new IllegalArgumentException("Decay rate must be positive, but is " + rate + ".");
+    }
+    this.startPosition = startPosition;
+    this.startVelocity = startVelocity;
+    this.rate = rate;
+    this.snapPoint = nearest(snapPoints, (float) getRestPosition());
+  }
+
+  /**
+   * Returns the position the fling comes to rest at.
+   */
+  double getRestPosition() {
+    return startPosition + startVelocity / rate;
+  }
+
+  double getPosition(double seconds) {
+    return startPosition + startVelocity * (1 - Math.exp(-rate * seconds)) / rate;
+  }
+
+  double getVelocity(double seconds) {
+    return startVelocity * Math.exp(-rate * seconds);
+  }
+
+  /**
+   * Returns whether a spring should take over from the fling at {@code seconds}: either the fling
+   * would stop short of the snap point, or it has passed the snap point.
+   */
+  boolean shouldHandOff(double seconds) {
+    double remaining = snapPoint - getPosition(seconds);
+    double travel = getVelocity(seconds) / rate;
+    boolean passed = remaining * startVelocity <= 0;
+    boolean stopsShort = Math.abs(travel) <= Math.abs(remaining);
+    return passed || stopsShort;
+  }
+
+  /**
+   * Returns the value in {@code sortedValues} nearest to {@code value}, or {@code value} if there
+   * are none.
+   */
+  static float nearest(float[] sortedValues, float value) {
+    if (sortedValues.length == 0) {
+      return value;
+    }
+
+    int index = Arrays.binarySearch(sortedValues, value);
+    if (index >= 0) {
+      return sortedValues[index];
+    }
+
+    int insertion = -index - 1;
+    if (insertion == 0) {
+      return sortedValues[0];
+    } else if (insertion == sortedValues.length) {
+      return sortedValues[sortedValues.length - 1];
+    }
+    float below = sortedValues[insertion - 1];
+    float above = sortedValues[insertion];
+    return value - below <= above - value ? below : above;
+  }
+}
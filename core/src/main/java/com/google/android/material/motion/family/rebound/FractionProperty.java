@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+/**
+ * A property of a target whose value is represented by a float fraction, so it can be pulled by a
+ * spring.
+ * <p>
+ * On Android, every {@code ReboundProperty} is a fraction property. Headless simulations can use
+ * any implementation.
+ *
+ * @param <T> The type of the target this property acts on.
+ */
+public interface FractionProperty<T> {
+
+  /**
+   * Returns the property's name.
+   */
+  String getName();
+
+  /**
+   * Returns the property's value on the target, as a fraction.
+   */
+  float getFraction(T target);
+
+  /**
+   * Sets the property's value on the target from a fraction.
+   */
+  void setFraction(T target, float fraction);
+}
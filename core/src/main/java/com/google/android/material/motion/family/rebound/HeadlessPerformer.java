@@ -0,0 +1,153 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import com.facebook.rebound.BaseSpringSystem;
+import com.facebook.rebound.SimpleSpringListener;
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringSystemListener;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Applies {@link HeadlessSpringTo} plans to a target with Rebound springs, without Android. Use it
+ * to simulate motion specs on a plain JVM, with the same integrator as on devices.
+ * <p>
+ * Like {@code ReboundPerformer}, each property has one spring that is retargeted by later plans
+ * and keeps its velocity. Plans are scheduled by the same {@link SpringToQueue}: they are applied
+ * on the next frame, later plans for a property replace earlier ones, and delays are measured by
+ * the integration loop. A spring starts from the property's value if the property no longer holds
+ * the spring's value.
+ * <p>
+ * A performer and its spring system must only be used by one thread at a time. Performers with
+ * separate spring systems may run on different threads.
+ *
+ * @param <T> The type of the target this performer acts on.
+ */
+public class HeadlessPerformer<T> {
+
+  private static final double EPSILON = 0.01f;
+
+  private final T target;
+  private final ClockedSpringSystem springSystem;
+  private final Map<FractionProperty<? super T>, Spring> springs = new IdentityHashMap<>();
+  private final SpringToQueue<FractionProperty<? super T>, HeadlessSpringTo<T>> springTos =
+    new SpringToQueue<>();
+
+  public HeadlessPerformer(T target, ClockedSpringSystem springSystem) {
+    this.target = target;
+    this.springSystem = springSystem;
+    springSystem.addListener(frameListener);
+  }
+
+  /**
+   * Returns the target this performer acts on.
+   */
+  public T getTarget() {
+    return target;
+  }
+
+  /**
+   * Applies the plan on the next frame, or on the first frame after its delay.
+   */
+  public void addPlan(HeadlessSpringTo<T> plan) {
+    getSpring(plan.property);
+    springTos.add(plan.property, plan, plan.delay, springSystem.getFrameTimeMillis());
+    springSystem.requestFrame();
+  }
+
+  /**
+   * Returns true if no plan is waiting to be applied and every spring is at rest.
+   */
+  public boolean isIdle() {
+    if (!springTos.isEmpty()) {
+      return false;
+    }
+    for (Spring spring : springs.values()) {
+      if (!spring.isAtRest()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the spring of the property, or null if no plan was added for it.
+   */
+  public Spring getSpringOf(FractionProperty<? super T> property) {
+    return springs.get(property);
+  }
+
+  private final SpringToQueue.Applier<HeadlessSpringTo<T>> springToApplier =
+    new SpringToQueue.Applier<HeadlessSpringTo<T>>() {
+      @Override
+      public void apply(HeadlessSpringTo<T> plan) {
+        applySpringTo(plan);
+      }
+    };
+
+  private void applySpringTo(HeadlessSpringTo<T> plan) {
+    Spring spring = springs.get(plan.property);
+    if (plan.configuration != null) {
+      spring.getSpringConfig().tension = plan.configuration.tension;
+      spring.getSpringConfig().friction = plan.configuration.friction;
+    }
+
+    float currentFraction = plan.property.getFraction(target);
+    if (Math.abs(spring.getCurrentValue() - currentFraction) >= EPSILON) {
+      boolean setAtRest = true;
+      //noinspection ConstantConditions
+      spring.setCurrentValue(currentFraction, setAtRest);
+    }
+    spring.setEndValue(plan.destination);
+  }
+
+  private Spring getSpring(final FractionProperty<? super T> property) {
+    Spring spring = springs.get(property);
+    if (spring == null) {
+      spring = springSystem.createSpring();
+      boolean setAtRest = true;
+      //noinspection ConstantConditions
+      spring.setCurrentValue(property.getFraction(target), setAtRest);
+      spring.addListener(new SimpleSpringListener() {
+        @Override
+        public void onSpringUpdate(Spring spring) {
+          property.setFraction(target, (float) spring.getCurrentValue());
+        }
+      });
+      springs.put(property, spring);
+    }
+    return spring;
+  }
+
+  /**
+   * Applies plans on the first frame after they were added or after their delay.
+   */
+  private final SpringSystemListener frameListener = new SpringSystemListener() {
+    @Override
+    public void onBeforeIntegrate(BaseSpringSystem system) {
+      springTos.onFrame(springSystem.getFrameTimeMillis(), springToApplier);
+    }
+
+    @Override
+    public void onAfterIntegrate(BaseSpringSystem system) {
+      if (!springTos.isEmpty()) {
+        springSystem.requestFrame();
+      }
+    }
+  };
+}
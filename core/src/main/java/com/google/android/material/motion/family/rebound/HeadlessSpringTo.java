@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import com.facebook.rebound.SpringConfig;
+
+/**
+ * Pull a target's {@link FractionProperty property} towards a destination with a spring, in a
+ * {@link HeadlessPerformer headless simulation}. The counterpart of {@code ObjectSpringTo} that
+ * does not depend on Android.
+ *
+ * @param <T> The type of the target this plan acts on.
+ */
+public class HeadlessSpringTo<T> {
+
+  /**
+   * The property whose value should be pulled towards the destination.
+   */
+  public final FractionProperty<? super T> property;
+  /**
+   * The fraction to which the property should be pulled.
+   */
+  public float destination;
+  /**
+   * The spring's desired configuration.
+   * <p>
+   * If null then the spring's configuration will not be affected.
+   */
+  public SpringConfig configuration;
+  /**
+   * The time in milliseconds to wait before the plan is applied, measured by the integration loop.
+   */
+  public long delay;
+
+  /**
+   * Initializes a plan for the property with a destination.
+   */
+  public HeadlessSpringTo(FractionProperty<? super T> property, float destination) {
+    this.property = property;
+    this.destination = destination;
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Records the activity of all rebound performers into a ring buffer, so a session can be {@link
+ * ReboundReplayer replayed} later. Install a recorder with {@code
+ * ReboundPerformer.setRecorder(ReboundRecorder)}.
+ * <p>
+ * The recorder captures frame times, SpringTo plans, gesture state changes, every operation
+ * performers apply to their springs, and every spring value written to a target. Each record is a
+ * fixed size entry in a preallocated array, so recording does not allocate and can stay enabled
+ * in production builds. When the buffer is full, the oldest records are overwritten.
+ * <p>
+ * The recorder and its trace format have no Android dependencies, so traces from devices can be
+ * replayed on a plain JVM. Springs of group and chain plans are not recorded.
+ */
+public class ReboundRecorder {
+
+  /**
+   * The default number of records kept in the ring buffer.
+   */
+  public static final int DEFAULT_CAPACITY = 1 << 16;
+
+  static final int MAGIC = 0x52425452; // "RBTR"
+  static final int VERSION = 1;
+  static final int FLAG_WRAPPED = 1;
+
+  /**
+   * The number of ints in a record: type, spring id, int argument, float argument.
+   */
+  static final int RECORD_SIZE = 4;
+
+  /**
+   * The integration loop started. Float argument: elapsed milliseconds.
+   */
+  static final int FRAME = 1;
+  /**
+   * The integration loop finished.
+   */
+  static final int INTEGRATED = 2;
+  /**
+   * A SpringTo plan was applied. Float argument: destination fraction.
+   */
+  static final int PLAN = 3;
+  /**
+   * A gesture that pauses the spring changed state. Int argument: gesture state.
+   */
+  static final int GESTURE = 4;
+  /**
+   * The spring's configuration changed. Int argument: friction bits. Float argument: tension.
+   */
+  static final int CONFIG = 5;
+  /**
+   * The spring's current value was set and the spring put at rest. Float argument: value.
+   */
+  static final int RESET = 6;
+  /**
+   * The spring's velocity was set. Float argument: velocity.
+   */
+  static final int VELOCITY = 7;
+  /**
+   * The spring's end value was set. Float argument: end value.
+   */
+  static final int END = 8;
+  /**
+   * The spring was put at rest.
+   */
+  static final int REST = 9;
+  /**
+   * The spring's value was written to its target. Float argument: value.
+   */
+  static final int VALUE = 10;
+  /**
+   * The spring's overshoot clamping was set. Int argument: 1 if enabled, 0 if disabled.
+   */
+  static final int CLAMP = 11;
+
+  private final int[] records;
+  private final int capacity;
+  private int next;
+  private boolean wrapped;
+  private int nextSpringId;
+
+  /**
+   * Creates a recorder with the {@link #DEFAULT_CAPACITY default capacity}.
+   */
+  public ReboundRecorder() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a recorder that keeps the most recent {@code capacity} records.
+   *
+   * @throws IllegalArgumentException If {@code capacity} is not positive.
+   */
+  public ReboundRecorder(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive, but is " + capacity + ".");
+    }
+    this.capacity = capacity;
+    this.records = new int[capacity * RECORD_SIZE];
+  }
+
+  /**
+   * Returns the number of records currently in the buffer.
+   */
+  public int size() {
+    return wrapped ? capacity : next;
+  }
+
+  /**
+   * Returns true if old records were overwritten. A replay of a wrapped trace starts in the middle
+   * of the session, so early frames may not match.
+   */
+  public boolean hasWrapped() {
+    return wrapped;
+  }
+
+  /**
+   * Discards all records.
+   */
+  public void clear() {
+    next = 0;
+    wrapped = false;
+  }
+
+  /**
+   * Writes the records to a file, oldest first.
+   */
+  public void flush(File file) throws IOException {
+    OutputStream out = new FileOutputStream(file);
+    try {
+      writeTo(out);
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Writes the records to a stream, oldest first. The stream is not closed.
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+    data.writeInt(MAGIC);
+    data.writeInt(VERSION);
+    data.writeInt(wrapped ? FLAG_WRAPPED : 0);
+    data.writeInt(size());
+
+    int start = wrapped ? next : 0;
+    for (int i = 0; i < size(); i++) {
+      int offset = ((start + i) % capacity) * RECORD_SIZE;
+      for (int j = 0; j < RECORD_SIZE; j++) {
+        data.writeInt(records[offset + j]);
+      }
+    }
+    data.flush();
+  }
+
+  int nextSpringId() {
+    return nextSpringId++;
+  }
+
+  void record(int type, int springId, int intArgument, float floatArgument) {
+    int offset = next * RECORD_SIZE;
+    records[offset] = type;
+    records[offset + 1] = springId;
+    records[offset + 2] = intArgument;
+    records[offset + 3] = Float.floatToRawIntBits(floatArgument);
+
+    next++;
+    if (next == capacity) {
+      next = 0;
+      wrapped = true;
+    }
+  }
+
+  void record(int type, int springId, float floatArgument) {
+    record(type, springId, 0, floatArgument);
+  }
+
+  void record(int type, int springId) {
+    record(type, springId, 0, 0f);
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import com.facebook.rebound.Spring;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays a trace written by a {@link ReboundRecorder} on a {@link FixedStepLooper}. The replay
+ * applies the recorded spring operations and frame times to fresh springs, and compares the
+ * replayed values with the recorded ones. It runs on a plain JVM, without Android or a device.
+ */
+public class ReboundReplayer {
+
+  private final int[] records;
+  private final boolean wrapped;
+  private int frameCount;
+
+  /**
+   * Reads a trace from a stream. The stream is not closed.
+   *
+   * @throws IOException If the stream could not be read or does not contain a trace.
+   */
+  public ReboundReplayer(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+    if (data.readInt() != ReboundRecorder.MAGIC) {
+      throw new IOException("Not a rebound trace.");
+    }
+    int version = data.readInt();
+    if (version != ReboundRecorder.VERSION) {
+      throw new IOException("Unsupported rebound trace version " + version + ".");
+    }
+    wrapped = (data.readInt() & ReboundRecorder.FLAG_WRAPPED) != 0;
+
+    records = new int[data.readInt() * ReboundRecorder.RECORD_SIZE];
+    for (int i = 0; i < records.length; i++) {
+      records[i] = data.readInt();
+    }
+  }
+
+  /**
+   * Reads a trace from a file.
+   *
+   * @throws IOException If the file could not be read or does not contain a trace.
+   */
+  public static ReboundReplayer fromFile(File file) throws IOException {
+    InputStream in = new FileInputStream(file);
+    try {
+      return new ReboundReplayer(in);
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Returns the number of frames replayed by the last call to {@link #replay()}.
+   */
+  public int getFrameCount() {
+    return frameCount;
+  }
+
+  /**
+   * Replays the trace.
+   *
+   * @return The largest difference between a recorded spring value and the replayed value at the
+   * end of the same frame.
+   */
+  public float replay() {
+    FixedStepLooper looper = new FixedStepLooper();
+    ClockedSpringSystem springSystem = new ClockedSpringSystem(looper);
+    List<Spring> springs = new ArrayList<>();
+    List<Float> frameValues = new ArrayList<>();
+
+    float maxError = 0f;
+    float frameMillis = 0f;
+    boolean inFrame = false;
+    frameCount = 0;
+
+    for (int offset = 0; offset < records.length; offset += ReboundRecorder.RECORD_SIZE) {
+      int type = records[offset];
+      int springId = records[offset + 1];
+      int intArgument = records[offset + 2];
+      float floatArgument = Float.intBitsToFloat(records[offset + 3]);
+
+      if (type == ReboundRecorder.FRAME) {
+        inFrame = true;
+        frameMillis = floatArgument;
+        for (int i = 0; i < frameValues.size(); i++) {
+          frameValues.set(i, null);
+        }
+        continue;
+      } else if (wrapped && !inFrame && frameCount == 0) {
+        // A wrapped trace may start in the middle of a frame.
+        continue;
+      }
+
+      if (type == ReboundRecorder.INTEGRATED) {
+        looper.step(Math.round(frameMillis));
+        for (int i = 0; i < frameValues.size(); i++) {
+          Float recorded = frameValues.get(i);
+          if (recorded != null) {
+            float error = (float) Math.abs(springs.get(i).getCurrentValue() - recorded);
+            maxError = Math.max(maxError, error);
+          }
+        }
+        inFrame = false;
+        frameCount++;
+        continue;
+      }
+
+      boolean known = springId < springs.size() && springs.get(springId) != null;
+      Spring spring = getSpring(springSystem, springs, springId);
+      switch (type) {
+        case ReboundRecorder.CONFIG:
+          spring.getSpringConfig().tension = floatArgument;
+          spring.getSpringConfig().friction = Float.intBitsToFloat(intArgument);
+          break;
+        case ReboundRecorder.RESET:
+          spring.setCurrentValue(floatArgument);
+          break;
+        case ReboundRecorder.VELOCITY:
+          spring.setVelocity(floatArgument);
+          break;
+        case ReboundRecorder.END:
+          spring.setEndValue(floatArgument);
+          break;
+        case ReboundRecorder.REST:
+          spring.setAtRest();
+          break;
+        case ReboundRecorder.CLAMP:
+          spring.setOvershootClampingEnabled(intArgument != 0);
+          break;
+        case ReboundRecorder.VALUE:
+          if (wrapped && !known) {
+            // The spring's earlier operations were overwritten. Resume from its recorded value.
+            spring.setCurrentValue(floatArgument, false);
+          }
+          while (frameValues.size() <= springId) {
+            frameValues.add(null);
+          }
+          frameValues.set(springId, floatArgument);
+          break;
+        default:
+          // Plans and gesture state changes are recorded for context. Their effects on the
+          // spring are recorded as separate operations.
+          break;
+      }
+    }
+
+    return maxError;
+  }
+
+  private static Spring getSpring(ClockedSpringSystem springSystem, List<Spring> springs, int id) {
+    while (springs.size() <= id) {
+      springs.add(null);
+    }
+
+    Spring spring = springs.get(id);
+    if (spring == null) {
+      spring = springSystem.createSpring();
+      springs.set(id, spring);
+    }
+    return spring;
+  }
+}
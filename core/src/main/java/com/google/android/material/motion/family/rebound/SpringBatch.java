@@ -0,0 +1,210 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringConfig;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Simulates many springs offline, each from its own tension, friction, start value, end value and
+ * initial velocity, and writes their trajectories or settle times to arrays supplied by the
+ * caller.
+ * <p>
+ * Every spring is integrated by a Rebound {@link Spring} stepped at a fixed frame interval, like
+ * the springs of {@code ReboundPerformer}, so results match the values springs take on devices at
+ * the same frame interval. Unlike {@link SpringSimulator}, no performer, target or plan is created
+ * per spring: each worker steps its share of the batch in one spring system, one spring at a time.
+ */
+public final class SpringBatch {
+
+  /**
+   * The number of springs below which a batch is not split further.
+   */
+  private static final int BATCH_SIZE = 64;
+
+  private final double[] tension;
+  private final double[] friction;
+  private final double[] start;
+  private final double[] end;
+  private final double[] velocity;
+
+  /**
+   * Creates a batch of springs. Spring {@code i} is described by the {@code i}th element of every
+   * array. The arrays are not copied, so they must not change while the batch runs.
+   *
+   * @throws IllegalArgumentException If the arrays do not have the same length.
+   */
+  public SpringBatch(
+    double[] tension, double[] friction, double[] start, double[] end, double[] velocity) {
+    int size = tension.length;
+    if (friction.length != size
+      || start.length != size
+      || end.length != size
+      || velocity.length != size) {
+      throw new IllegalArgumentException("Spring parameter arrays must have the same length.");
+    }
+    this.tension = tension;
+    this.friction = friction;
+    this.start = start;
+    this.end = end;
+    this.velocity = velocity;
+  }
+
+  /**
+   * Returns the number of springs in this batch.
+   */
+  public int size() {
+    return tension.length;
+  }
+
+  /**
+   * Writes the value of every spring after each of {@code frameCount} frames. The values of
+   * spring {@code i} are written from {@code out[i * frameCount]}. Springs that come to rest
+   * before the last frame keep their value at rest.
+   *
+   * @param frameMillis The interval between frames, in milliseconds.
+   * @throws IllegalArgumentException If {@code frameMillis} is not positive, {@code frameCount} is
+   * negative, or {@code out} has fewer than {@code size() * frameCount} elements.
+   */
+  public void sampleTrajectories(
+    long frameMillis, int frameCount, double[] out, ForkJoinPool pool) {
+    FixedStepLooper.checkFrameMillis(frameMillis);
+    if (frameCount < 0) {
+      throw new IllegalArgumentException(
+        "Frame count must not be negative, but is " + frameCount + ".");
+    }
+    if (out.length < (long) size() * frameCount) {
+      throw new IllegalArgumentException(
+        "Output needs " + (long) size() * frameCount + " elements, but has " + out.length + ".");
+    }
+    if (frameCount == 0) {
+      return;
+    }
+    pool.invoke(new BatchTask(this, 0, size(), frameMillis, frameCount, 0, out));
+  }
+
+  /**
+   * Writes the time every spring takes to come to rest, in milliseconds, to {@code out[i]}. A
+   * spring that is still moving after {@code maxMillis} gets {@link Double#NaN}.
+   *
+   * @param frameMillis The interval between frames, in milliseconds.
+   * @throws IllegalArgumentException If {@code frameMillis} is not positive, or {@code out} has
+   * fewer than {@code size()} elements.
+   */
+  public void settleTimes(long frameMillis, long maxMillis, double[] out, ForkJoinPool pool) {
+    FixedStepLooper.checkFrameMillis(frameMillis);
+    if (out.length < size()) {
+      throw new IllegalArgumentException(
+        "Output needs " + size() + " elements, but has " + out.length + ".");
+    }
+    pool.invoke(new BatchTask(this, 0, size(), frameMillis, 0, maxMillis, out));
+  }
+
+  /**
+   * Simulates a range of springs, splitting it in halves until the halves are small. Samples
+   * trajectories if {@code frameCount} is positive, and settle times otherwise.
+   */
+  @SuppressWarnings("serial") // Tasks are never serialized.
+  private static class BatchTask extends RecursiveAction {
+
+    private final SpringBatch batch;
+    private final int from;
+    private final int to;
+    private final long frameMillis;
+    private final int frameCount;
+    private final long maxMillis;
+    private final double[] out;
+
+    private BatchTask(
+      SpringBatch batch,
+      int from,
+      int to,
+      long frameMillis,
+      int frameCount,
+      long maxMillis,
+      double[] out) {
+      this.batch = batch;
+      this.from = from;
+      this.to = to;
+      this.frameMillis = frameMillis;
+      this.frameCount = frameCount;
+      this.maxMillis = maxMillis;
+      this.out = out;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > BATCH_SIZE) {
+        int middle = (from + to) >>> 1;
+        invokeAll(
+          new BatchTask(batch, from, middle, frameMillis, frameCount, maxMillis, out),
+          new BatchTask(batch, middle, to, frameMillis, frameCount, maxMillis, out));
+        return;
+      }
+
+      FixedStepLooper looper = new FixedStepLooper();
+      ClockedSpringSystem springSystem = new ClockedSpringSystem(looper);
+      for (int i = from; i < to; i++) {
+        // Springs keep the time left over from their previous frames, so a used spring would
+        // integrate differently from a new one.
+        Spring spring = start(springSystem.createSpring(), i);
+        if (frameCount > 0) {
+          sample(looper, spring, i * frameCount);
+        } else {
+          out[i] = settle(looper, spring);
+        }
+        spring.destroy();
+      }
+    }
+
+    private Spring start(Spring spring, int i) {
+      SpringConfig config = spring.getSpringConfig();
+      config.tension = batch.tension[i];
+      config.friction = batch.friction[i];
+
+      boolean setAtRest = true;
+      //noinspection ConstantConditions
+      spring.setCurrentValue(batch.start[i], setAtRest);
+      spring.setVelocity(batch.velocity[i]);
+      spring.setEndValue(batch.end[i]);
+      return spring;
+    }
+
+    private void sample(FixedStepLooper looper, Spring spring, int offset) {
+      for (int frame = 0; frame < frameCount; frame++) {
+        if (!spring.isAtRest()) {
+          looper.step(frameMillis);
+        }
+        out[offset + frame] = spring.getCurrentValue();
+      }
+    }
+
+    private double settle(FixedStepLooper looper, Spring spring) {
+      long millis = 0;
+      while (!spring.isAtRest()) {
+        if (millis >= maxMillis) {
+          return Double.NaN;
+        }
+        looper.step(frameMillis);
+        millis += frameMillis;
+      }
+      return millis;
+    }
+  }
+}
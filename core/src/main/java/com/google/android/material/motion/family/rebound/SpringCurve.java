@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import com.facebook.rebound.Spring;
+
+/**
+ * The analytic solution of a {@link Spring Rebound spring}'s motion. Rebound springs have a mass of
+ * 1, so their displacement from the end value follows a damped harmonic oscillator with the
+ * spring's tension and friction.
+ * <p>
+ * Evaluating the curve does not allocate, so a single curve can be sampled at many offsets every
+ * frame.
+ */
+class SpringCurve {
+
+  private double initialDisplacement;
+  private double initialVelocity;
+  private double tension;
+  private double friction;
+
+  /**
+   * Sets the spring parameters and the initial state. Times are in seconds, like the spring's
+   * velocity.
+   */
+  void set(double tension, double friction, double initialDisplacement, double initialVelocity) {
+    this.tension = tension;
+    this.friction = friction;
+    this.initialDisplacement = initialDisplacement;
+    this.initialVelocity = initialVelocity;
+  }
+
+  /**
+   * Returns the displacement from the end value after {@code seconds}.
+   */
+  double getDisplacement(double seconds) {
+    double d0 = initialDisplacement;
+    double v0 = initialVelocity;
+    double t = seconds;
+
+    if (tension <= 0) {
+      if (friction <= 0) {
+        return d0 + v0 * t;
+      }
+      return d0 + v0 * (1 - Math.exp(-friction * t)) / friction;
+    }
+
+    double omega = Math.sqrt(tension);
+    double zeta = friction / (2 * omega);
+
+    if (zeta < 1) {
+      double dampedOmega = omega * Math.sqrt(1 - zeta * zeta);
+      double envelope = Math.exp(-zeta * omega * t);
+      return envelope * (d0 * Math.cos(dampedOmega * t)
+        + (v0 + zeta * omega * d0) / dampedOmega * Math.sin(dampedOmega * t));
+    } else if (zeta == 1) {
+      return Math.exp(-omega * t) * (d0 + (v0 + omega * d0) * t);
+    } else {
+      double root = omega * Math.sqrt(zeta * zeta - 1);
+      double r1 = -zeta * omega + root;
+      double r2 = -zeta * omega - root;
+      double a = (v0 - r2 * d0) / (r1 - r2);
+      double b = d0 - a;
+      return a * Math.exp(r1 * t) + b * Math.exp(r2 * t);
+    }
+  }
+}
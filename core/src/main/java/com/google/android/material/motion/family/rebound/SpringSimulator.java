@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs {@link HeadlessPerformer headless} simulations of motion specs offline, one at a time or
+ * in batches spread across the processor's cores.
+ * <p>
+ * Each simulation has its own spring system, stepped at a fixed frame interval as fast as the
+ * processor allows, so results do not depend on wall time or on the other simulations.
+ */
+public final class SpringSimulator {
+
+  /**
+   * The number of simulations below which a batch is not split further.
+   */
+  private static final int BATCH_SIZE = 16;
+
+  /**
+   * A motion spec to simulate. Implementations must create a new target for every call, so that
+   * simulations can run in parallel.
+   *
+   * @param <T> The type of the target of the plans.
+   */
+  public interface Scenario<T> {
+
+    /**
+     * Creates the target of the plans.
+     */
+    T createTarget();
+
+    /**
+     * Adds the plans of the motion spec to the performer.
+     */
+    void addPlans(HeadlessPerformer<T> performer);
+  }
+
+  /**
+   * The outcome of a simulation.
+   */
+  public static final class Result {
+
+    /**
+     * The time at which the last spring came to rest, in milliseconds.
+     */
+    public final double settleMillis;
+    /**
+     * The number of frames integrated.
+     */
+    public final int frameCount;
+    /**
+     * False if the simulation was stopped at its time limit before the springs came to rest.
+     */
+    public final boolean settled;
+
+    private Result(double settleMillis, int frameCount, boolean settled) {
+      this.settleMillis = settleMillis;
+      this.frameCount = frameCount;
+      this.settled = settled;
+    }
+  }
+
+  private SpringSimulator() {
+  }
+
+  /**
+   * Simulates the scenario until its springs come to rest or {@code maxMillis} have passed.
+   *
+   * @param frameMillis The interval between frames, in milliseconds.
+   * @throws IllegalArgumentException If {@code frameMillis} is not positive.
+   */
+  public static <T> Result run(Scenario<T> scenario, long frameMillis, long maxMillis) {
+    FixedStepLooper.checkFrameMillis(frameMillis);
+    FixedStepLooper looper = new FixedStepLooper();
+    ClockedSpringSystem springSystem = new ClockedSpringSystem(looper);
+    HeadlessPerformer<T> performer =
+      new HeadlessPerformer<>(scenario.createTarget(), springSystem);
+    scenario.addPlans(performer);
+
+    while (!performer.isIdle() && springSystem.getFrameTimeMillis() < maxMillis) {
+      int frameCount = springSystem.getFrameCount();
+      looper.step(frameMillis);
+      if (springSystem.getFrameCount() == frameCount) {
+        // The loop is not running, so nothing can change.
+        break;
+      }
+    }
+    return new Result(
+      springSystem.getFrameTimeMillis(), springSystem.getFrameCount(), performer.isIdle());
+  }
+
+  /**
+   * Simulates every scenario on the pool, and returns the results in the same order.
+   *
+   * @throws IllegalArgumentException If {@code frameMillis} is not positive.
+   * @see #run(Scenario, long, long)
+   */
+  public static <T> Result[] runAll(
+    List<? extends Scenario<T>> scenarios, long frameMillis, long maxMillis, ForkJoinPool pool) {
+    FixedStepLooper.checkFrameMillis(frameMillis);
+    Result[] results = new Result[scenarios.size()];
+    pool.invoke(
+      new SimulationTask<>(scenarios, results, 0, scenarios.size(), frameMillis, maxMillis));
+    return results;
+  }
+
+  /**
+   * Simulates a range of scenarios, splitting it in halves until the halves are small.
+   */
+  @SuppressWarnings("serial") // Tasks are never serialized.
+  private static class SimulationTask<T> extends RecursiveAction {
+
+    private final List<? extends Scenario<T>> scenarios;
+    private final Result[] results;
+    private final int from;
+    private final int to;
+    private final long frameMillis;
+    private final long maxMillis;
+
+    private SimulationTask(
+      List<? extends Scenario<T>> scenarios,
+      Result[] results,
+      int from,
+      int to,
+      long frameMillis,
+      long maxMillis) {
+      this.scenarios = scenarios;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+      this.frameMillis = frameMillis;
+      this.maxMillis = maxMillis;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= BATCH_SIZE) {
+        for (int i = from; i < to; i++) {
+          results[i] = run(scenarios.get(i), frameMillis, maxMillis);
+        }
+        return;
+      }
+
+      int middle = (from + to) >>> 1;
+      invokeAll(
+        new SimulationTask<>(scenarios, results, from, middle, frameMillis, maxMillis),
+        new SimulationTask<>(scenarios, results, middle, to, frameMillis, maxMillis));
+    }
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import com.facebook.rebound.OrigamiValueConverter;
+import com.facebook.rebound.SpringConfig;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Converts between {@link SpringConfig spring configurations} and the ways designers describe
+ * springs: a settle duration with a damping ratio, or Origami tension and friction.
+ * <p>
+ * Rebound springs have a mass of 1, so a spring with tension {@code k} and friction {@code c} has a
+ * natural frequency of {@code sqrt(k)} and a damping ratio of {@code c / (2 * sqrt(k))}. A damping
+ * ratio of 1 is critically damped. Ratios below 1 bounce, and lower ratios bounce more.
+ * <p>
+ * A spring has settled once it stays within {@link #SETTLE_THRESHOLD} of the distance it travels.
+ * For a given damping ratio, the settle time is inversely proportional to the natural frequency,
+ * so the settle time of each recently used damping ratio is computed once and cached.
+ */
+public final class SpringSpec {
+
+  /**
+   * The tension of springs that no plan configured.
+   */
+  public static final float DEFAULT_TENSION = 342f;
+  /**
+   * The friction of springs that no plan configured.
+   */
+  public static final float DEFAULT_FRICTION = 30f;
+
+  /**
+   * The fraction of its distance a spring must stay within to have settled.
+   */
+  public static final double SETTLE_THRESHOLD = 0.005;
+
+  /**
+   * The time step used to find settle times, for a spring with a natural frequency of 1.
+   */
+  private static final double STEP = 0.001;
+
+  /**
+   * The number of damping ratios whose settle time is cached.
+   */
+  private static final int CACHE_SIZE = 64;
+
+  /**
+   * Settle times of springs with a natural frequency of 1, keyed by damping ratio. The least
+   * recently used damping ratio is evicted once the cache is full.
+   */
+  private static final Map<Double, Double> settleTimes =
+    new LinkedHashMap<Double, Double>(CACHE_SIZE, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Double, Double> eldest) {
+        return size() > CACHE_SIZE;
+      }
+    };
+
+  private SpringSpec() {
+  }
+
+  /**
+   * Returns a config that settles in {@code settleMillis} with the given damping ratio.
+   *
+   * @param settleMillis The time for the spring to settle at its destination, in milliseconds.
+   * @param dampingRatio 1 for no bounce. Values between 0 and 1 bounce, lower values more.
+   */
+  public static SpringConfig fromSettleDuration(long settleMillis, double dampingRatio) {
+    if (settleMillis <= 0 || dampingRatio <= 0) {
+      throw new IllegalArgumentException("Settle duration and damping ratio must be positive: "
+        + settleMillis + ", " + dampingRatio);
+    }
+
+    double naturalFrequency = getUnitSettleTime(dampingRatio) / (settleMillis / 1000.0);
+    return new SpringConfig(
+      naturalFrequency * naturalFrequency, 2 * dampingRatio * naturalFrequency);
+  }
+
+  /**
+   * Returns a critically damped config with the given tension. The spring does not overshoot.
+   */
+  public static SpringConfig criticallyDamped(double tension) {
+    return new SpringConfig(tension, 2 * Math.sqrt(tension));
+  }
+
+  /**
+   * Returns the config for Origami tension and friction, as used by design tools.
+   */
+  public static SpringConfig fromOrigami(double origamiTension, double origamiFriction) {
+    return SpringConfig.fromOrigamiTensionAndFriction(origamiTension, origamiFriction);
+  }
+
+  /**
+   * Returns the Origami tension of a config.
+   */
+  public static double getOrigamiTension(SpringConfig config) {
+    return OrigamiValueConverter.origamiValueFromTension(config.tension);
+  }
+
+  /**
+   * Returns the Origami friction of a config.
+   */
+  public static double getOrigamiFriction(SpringConfig config) {
+    return OrigamiValueConverter.origamiValueFromFriction(config.friction);
+  }
+
+  /**
+   * Returns the damping ratio of a config.
+   */
+  public static double getDampingRatio(SpringConfig config) {
+    return config.friction / (2 * Math.sqrt(config.tension));
+  }
+
+  /**
+   * Returns the time a spring with this config takes to settle at its destination from rest, in
+   * milliseconds. Use it to compare configs against a settle-time budget; fewer milliseconds means
+   * fewer integrated frames.
+   *
+   * @throws IllegalArgumentException If the tension or friction of the config is not positive,
+   * since the spring would never settle.
+   */
+  public static long getSettleMillis(SpringConfig config) {
+    if (!(config.tension > 0) || !(config.friction > 0)) {
+      throw new IllegalArgumentException("Tension and friction must be positive: "
+        + config.tension + ", " + config.friction);
+    }
+
+    double naturalFrequency = Math.sqrt(config.tension);
+    double dampingRatio = getDampingRatio(config);
+    return Math.round(getUnitSettleTime(dampingRatio) / naturalFrequency * 1000);
+  }
+
+  /**
+   * Returns the settle time in seconds of a spring with a natural frequency of 1.
+   */
+  static synchronized double getUnitSettleTime(double dampingRatio) {
+    Double settleTime = settleTimes.get(dampingRatio);
+    if (settleTime == null) {
+      settleTime = computeUnitSettleTime(dampingRatio);
+      settleTimes.put(dampingRatio, settleTime);
+    }
+    return settleTime;
+  }
+
+  private static double computeUnitSettleTime(double dampingRatio) {
+    SpringCurve curve = new SpringCurve();
+    curve.set(1, 2 * dampingRatio, 1, 0);
+
+    // Find a time by which the spring is certain to be settled. An underdamped spring stays within
+    // its decaying envelope. Otherwise the slowest decaying mode dominates, and the generous
+    // margin covers the polynomial term of a critically damped spring.
+    double horizon;
+    if (dampingRatio < 1) {
+      double amplitude = 1 / Math.sqrt(1 - dampingRatio * dampingRatio);
+      horizon = Math.log(amplitude / SETTLE_THRESHOLD) / dampingRatio;
+    } else {
+      double decayRate = dampingRatio - Math.sqrt(dampingRatio * dampingRatio - 1);
+      horizon = 4 * Math.log(1 / SETTLE_THRESHOLD) / decayRate;
+    }
+
+    // Walk back from the horizon to the last time the spring was outside of the threshold.
+    for (double t = horizon; t > 0; t -= STEP) {
+      if (Math.abs(curve.getDisplacement(t)) >= SETTLE_THRESHOLD) {
+        return t;
+      }
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SpringTo plans waiting to be applied by a performer. Plans with a delay wait until a frame of the
+ * integration loop at or after their delay. Other plans wait for the next frame, and only the
+ * last-added plan of each property is kept.
+ * <p>
+ * Shared by {@code ReboundPerformer} and {@link HeadlessPerformer}, so plans are applied on the
+ * same frames on devices and in headless simulations. Properties are compared by identity, and the
+ * queue does not allocate once its lists have grown, so it can be retargeted every frame.
+ *
+ * @param <K> The type of the properties the plans act on.
+ * @param <P> The type of the plans.
+ */
+class SpringToQueue<K, P> {
+
+  /**
+   * Applies the plans of the queue to their springs.
+   */
+  interface Applier<P> {
+
+    void apply(P plan);
+  }
+
+  /**
+   * Plans waiting for the next frame, and their properties at the same indices.
+   */
+  private final List<K> pendingProperties = new ArrayList<>();
+  private final List<P> pendingPlans = new ArrayList<>();
+  /**
+   * Plans waiting for their delay, in the order they were added.
+   */
+  private final List<DelayedPlan<K, P>> delayedPlans = new ArrayList<>();
+  private int coalescedPlanCount;
+
+  /**
+   * Adds a plan that is applied on the next frame at or after {@code delayMillis}.
+   *
+   * @param frameTimeMillis The time of the current frame of the integration loop.
+   */
+  void add(K property, P plan, double delayMillis, double frameTimeMillis) {
+    if (delayMillis > 0) {
+      delayedPlans.add(new DelayedPlan<>(property, plan, frameTimeMillis + delayMillis));
+    } else {
+      enqueue(property, plan);
+    }
+  }
+
+  private void enqueue(K property, P plan) {
+    int index = indexOf(property);
+    if (index != -1) {
+      pendingPlans.set(index, plan);
+      coalescedPlanCount++;
+    } else {
+      pendingProperties.add(property);
+      pendingPlans.add(plan);
+    }
+  }
+
+  /**
+   * Applies the plans that are due on the frame.
+   *
+   * @param frameTimeMillis The time of the frame of the integration loop.
+   */
+  void onFrame(double frameTimeMillis, Applier<P> applier) {
+    for (int i = 0; i < delayedPlans.size(); ) {
+      DelayedPlan<K, P> delayed = delayedPlans.get(i);
+      if (delayed.startTimeMillis <= frameTimeMillis) {
+        delayedPlans.remove(i);
+        enqueue(delayed.property, delayed.plan);
+      } else {
+        i++;
+      }
+    }
+
+    // Plans are removed before they are applied, so plans added by the applier are applied too.
+    while (!pendingPlans.isEmpty()) {
+      int last = pendingPlans.size() - 1;
+      pendingProperties.remove(last);
+      applier.apply(pendingPlans.remove(last));
+    }
+  }
+
+  /**
+   * Returns the plan of the property that waits for the next frame, or null if there is none.
+   */
+  P getPending(K property) {
+    int index = indexOf(property);
+    return index != -1 ? pendingPlans.get(index) : null;
+  }
+
+  /**
+   * Removes the plan of the property that waits for the next frame, if there is one.
+   */
+  void removePending(K property) {
+    int index = indexOf(property);
+    if (index != -1) {
+      pendingProperties.remove(index);
+      pendingPlans.remove(index);
+    }
+  }
+
+  /**
+   * Returns the number of plans that wait for the next frame.
+   */
+  int getPendingCount() {
+    return pendingPlans.size();
+  }
+
+  /**
+   * Returns true if plans wait for their delay.
+   */
+  boolean hasDelayedPlans() {
+    return !delayedPlans.isEmpty();
+  }
+
+  /**
+   * Returns true if no plan waits for the next frame or for its delay.
+   */
+  boolean isEmpty() {
+    return pendingPlans.isEmpty() && delayedPlans.isEmpty();
+  }
+
+  /**
+   * Returns the number of plans that were replaced by a later plan for the same property before
+   * they were applied.
+   */
+  int getCoalescedPlanCount() {
+    return coalescedPlanCount;
+  }
+
+  private int indexOf(K property) {
+    for (int i = 0, count = pendingProperties.size(); i < count; i++) {
+      if (pendingProperties.get(i) == property) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static class DelayedPlan<K, P> {
+
+    private final K property;
+    private final P plan;
+    private final double startTimeMillis;
+
+    private DelayedPlan(K property, P plan, double startTimeMillis) {
+      this.property = property;
+      this.plan = plan;
+      this.startTimeMillis = startTimeMillis;
+    }
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.facebook.rebound.SpringConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class HeadlessPerformerTests {
+
+  private static final float EPSILON = 0.0001f;
+  /**
+   * An interval of time that represents one frame (~16ms).
+   */
+  private static final int FRAME = 16;
+
+  private static final FractionProperty<Box> POSITION = new FractionProperty<Box>() {
+    @Override
+    public String getName() {
+      return "position";
+    }
+
+    @Override
+    public float getFraction(Box target) {
+      return target.position;
+    }
+
+    @Override
+    public void setFraction(Box target, float fraction) {
+      target.position = fraction;
+    }
+  };
+
+  private FixedStepLooper looper;
+  private ClockedSpringSystem springSystem;
+  private Box box;
+  private HeadlessPerformer<Box> performer;
+
+  @Before
+  public void setUp() {
+    looper = new FixedStepLooper();
+    springSystem = new ClockedSpringSystem(looper);
+    box = new Box();
+    performer = new HeadlessPerformer<>(box, springSystem);
+  }
+
+  @Test
+  public void springToMovesPropertyToDestination() {
+    performer.addPlan(new HeadlessSpringTo<>(POSITION, 100f));
+    looper.step(FRAME);
+    assertThat(box.position).isGreaterThan(0f);
+    assertThat(performer.isIdle()).isFalse();
+
+    stepUntilSettled();
+    assertThat(box.position).isWithin(EPSILON).of(100f);
+    assertThat(performer.isIdle()).isTrue();
+  }
+
+  @Test
+  public void delayedSpringToStartsOnFrame() {
+    HeadlessSpringTo<Box> plan = new HeadlessSpringTo<>(POSITION, 100f);
+    plan.delay = 5 * FRAME;
+    performer.addPlan(plan);
+
+    for (int i = 0; i < 4; i++) {
+      looper.step(FRAME);
+    }
+    assertThat(box.position).isWithin(0f).of(0f);
+    assertThat(performer.isIdle()).isFalse();
+
+    looper.step(FRAME);
+    assertThat(box.position).isGreaterThan(0f);
+  }
+
+  @Test
+  public void laterPlanForPropertyReplacesPendingPlan() {
+    performer.addPlan(new HeadlessSpringTo<>(POSITION, 100f));
+    performer.addPlan(new HeadlessSpringTo<>(POSITION, 50f));
+    assertThat(box.position).isWithin(0f).of(0f);
+
+    stepUntilSettled();
+    assertThat(box.position).isWithin(EPSILON).of(50f);
+  }
+
+  @Test
+  public void retargetingKeepsVelocity() {
+    performer.addPlan(new HeadlessSpringTo<>(POSITION, 100f));
+    looper.step(FRAME);
+    looper.step(FRAME);
+    double velocity = performer.getSpringOf(POSITION).getVelocity();
+
+    performer.addPlan(new HeadlessSpringTo<>(POSITION, 200f));
+    assertThat(performer.getSpringOf(POSITION).getVelocity()).isWithin(0).of(velocity);
+  }
+
+  @Test
+  public void stifferSpringSettlesSooner() {
+    SpringSimulator.Result soft = SpringSimulator.run(new MoveBox(100, 20), FRAME, 10000);
+    SpringSimulator.Result stiff = SpringSimulator.run(new MoveBox(400, 40), FRAME, 10000);
+
+    assertThat(soft.settled).isTrue();
+    assertThat(stiff.settled).isTrue();
+    assertThat(stiff.settleMillis).isLessThan(soft.settleMillis);
+  }
+
+  @Test
+  public void simulationStopsAtTimeLimit() {
+    SpringSimulator.Result result = SpringSimulator.run(new MoveBox(1, 0.01), FRAME, 500);
+
+    assertThat(result.settled).isFalse();
+    assertThat(result.settleMillis).isAtLeast(500.0);
+  }
+
+  @Test
+  public void parallelBatchMatchesSequentialRuns() {
+    List<MoveBox> scenarios = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      scenarios.add(new MoveBox(100 + i * 10, 10 + i));
+    }
+
+    SpringSimulator.Result[] results =
+      SpringSimulator.runAll(scenarios, FRAME, 10000, new ForkJoinPool(4));
+
+    for (int i = 0; i < scenarios.size(); i++) {
+      SpringSimulator.Result expected = SpringSimulator.run(scenarios.get(i), FRAME, 10000);
+      assertThat(results[i].settleMillis).isWithin(0).of(expected.settleMillis);
+      assertThat(results[i].frameCount).isEqualTo(expected.frameCount);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void simulationWithEmptyFramesIsRejected() {
+    SpringSimulator.run(new MoveBox(100, 20), 0, 10000);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void batchOfSimulationsWithEmptyFramesIsRejected() {
+    List<MoveBox> scenarios = new ArrayList<>();
+    scenarios.add(new MoveBox(100, 20));
+    SpringSimulator.runAll(scenarios, 0, 10000, ForkJoinPool.commonPool());
+  }
+
+  private void stepUntilSettled() {
+    boolean idle = false;
+    while (!idle) {
+      idle = looper.step(FRAME);
+    }
+  }
+
+  private static class Box {
+
+    private float position;
+  }
+
+  /**
+   * Springs a box from 0 to 100.
+   */
+  private static class MoveBox implements SpringSimulator.Scenario<Box> {
+
+    private final double tension;
+    private final double friction;
+
+    private MoveBox(double tension, double friction) {
+      this.tension = tension;
+      this.friction = friction;
+    }
+
+    @Override
+    public Box createTarget() {
+      return new Box();
+    }
+
+    @Override
+    public void addPlans(HeadlessPerformer<Box> performer) {
+      HeadlessSpringTo<Box> plan = new HeadlessSpringTo<>(POSITION, 100f);
+      plan.configuration = new SpringConfig(tension, friction);
+      performer.addPlan(plan);
+    }
+  }
+}
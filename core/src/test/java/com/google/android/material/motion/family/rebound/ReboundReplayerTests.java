@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.facebook.rebound.Spring;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ReboundReplayerTests {
+
+  /**
+   * An interval of time that represents one frame (~16ms).
+   */
+  private static final int FRAME = 16;
+  private static final float EPSILON = 0.0001f;
+
+  @Test(expected = IllegalArgumentException.class)
+  public void recorderWithoutCapacityIsRejected() {
+    new ReboundRecorder(0);
+  }
+
+  @Test
+  public void replayedTraceMatchesRecordedSpring() throws IOException {
+    ReboundRecorder recorder = new ReboundRecorder();
+    FixedStepLooper looper = new FixedStepLooper();
+    ClockedSpringSystem springSystem = new ClockedSpringSystem(looper);
+    Spring spring = springSystem.createSpring();
+    int springId = recorder.nextSpringId();
+
+    spring.getSpringConfig().tension = 120;
+    spring.getSpringConfig().friction = 9;
+    recorder.record(ReboundRecorder.CONFIG, springId, Float.floatToRawIntBits(9f), 120f);
+    recorder.record(ReboundRecorder.RESET, springId, 0f);
+    spring.setCurrentValue(0);
+    recorder.record(ReboundRecorder.END, springId, 100f);
+    spring.setEndValue(100);
+
+    int frameCount = 0;
+    boolean idle = false;
+    while (!idle) {
+      recorder.record(ReboundRecorder.FRAME, 0, FRAME);
+      idle = looper.step(FRAME);
+      recorder.record(ReboundRecorder.VALUE, springId, (float) spring.getCurrentValue());
+      recorder.record(ReboundRecorder.INTEGRATED, 0);
+      frameCount++;
+    }
+
+    ReboundReplayer replayer = new ReboundReplayer(toStream(recorder));
+    // Values are recorded as floats.
+    assertThat(replayer.replay()).isWithin(EPSILON).of(0f);
+    assertThat(replayer.getFrameCount()).isEqualTo(frameCount);
+  }
+
+  @Test(expected = IOException.class)
+  public void streamWithoutTraceIsRejected() throws IOException {
+    new ReboundReplayer(new ByteArrayInputStream(new byte[16]));
+  }
+
+  private static ByteArrayInputStream toStream(ReboundRecorder recorder) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    recorder.writeTo(out);
+    return new ByteArrayInputStream(out.toByteArray());
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringConfig;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class SpringBatchTests {
+
+  /**
+   * An interval of time that represents one frame (~16ms).
+   */
+  private static final int FRAME = 16;
+  private static final int COUNT = 200;
+
+  @Test
+  public void trajectoriesMatchSpringsSteppedOneAtATime() {
+    SpringBatch batch = createBatch();
+    int frameCount = 60;
+    double[] trajectories = new double[COUNT * frameCount];
+    batch.sampleTrajectories(FRAME, frameCount, trajectories, new ForkJoinPool(4));
+
+    for (int i = 0; i < COUNT; i += 17) {
+      FixedStepLooper looper = new FixedStepLooper();
+      ClockedSpringSystem springSystem = new ClockedSpringSystem(looper);
+      Spring spring = springSystem.createSpring();
+      spring.getSpringConfig().tension = tension(i);
+      spring.getSpringConfig().friction = friction(i);
+      spring.setCurrentValue(0).setVelocity(velocity(i)).setEndValue(100);
+
+      for (int frame = 0; frame < frameCount; frame++) {
+        looper.step(FRAME);
+        assertThat(trajectories[i * frameCount + frame]).isWithin(0).of(spring.getCurrentValue());
+      }
+    }
+  }
+
+  @Test
+  public void settleTimesMatchSimulator() {
+    SpringBatch batch = createBatch();
+    double[] settleTimes = new double[COUNT];
+    batch.settleTimes(FRAME, 10000, settleTimes, new ForkJoinPool(4));
+
+    // Springs with an even index start without velocity, like the springs of a plan.
+    for (int i = 0; i < COUNT; i += 18) {
+      SpringSimulator.Result expected =
+        SpringSimulator.run(new SpringScenario(tension(i), friction(i)), FRAME, 10000);
+      assertThat(expected.settled).isTrue();
+      assertThat(settleTimes[i]).isWithin(0).of(expected.settleMillis);
+    }
+  }
+
+  @Test
+  public void unsettledSpringsHaveNoSettleTime() {
+    SpringBatch batch = new SpringBatch(
+      new double[] {100, 100},
+      new double[] {2, 20},
+      new double[] {0, 0},
+      new double[] {100, 100},
+      new double[] {0, 0});
+    double[] settleTimes = new double[2];
+    batch.settleTimes(FRAME, 3000, settleTimes, ForkJoinPool.commonPool());
+
+    assertThat(Double.isNaN(settleTimes[0])).isTrue();
+    assertThat(Double.isNaN(settleTimes[1])).isFalse();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void arraysOfDifferentLengthsAreRejected() {
+    new SpringBatch(new double[2], new double[2], new double[2], new double[2], new double[1]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeFrameCountIsRejected() {
+    createBatch().sampleTrajectories(FRAME, -1, new double[0], ForkJoinPool.commonPool());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void emptyFrameIntervalIsRejected() {
+    createBatch().sampleTrajectories(0, 60, new double[COUNT * 60], ForkJoinPool.commonPool());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void emptyFrameIntervalIsRejectedForSettleTimes() {
+    createBatch().settleTimes(0, 10000, new double[COUNT], ForkJoinPool.commonPool());
+  }
+
+  private static SpringBatch createBatch() {
+    double[] tension = new double[COUNT];
+    double[] friction = new double[COUNT];
+    double[] start = new double[COUNT];
+    double[] end = new double[COUNT];
+    double[] velocity = new double[COUNT];
+    for (int i = 0; i < COUNT; i++) {
+      tension[i] = tension(i);
+      friction[i] = friction(i);
+      end[i] = 100;
+      velocity[i] = velocity(i);
+    }
+    return new SpringBatch(tension, friction, start, end, velocity);
+  }
+
+  private static double tension(int i) {
+    return 100 + i * 5;
+  }
+
+  private static double friction(int i) {
+    return 10 + i % 20;
+  }
+
+  private static double velocity(int i) {
+    return i % 2 == 0 ? 0 : 1000;
+  }
+
+  /**
+   * Springs a value from 0 to 100 with the given configuration.
+   */
+  private static class SpringScenario implements SpringSimulator.Scenario<float[]> {
+
+    private static final FractionProperty<float[]> VALUE = new FractionProperty<float[]>() {
+      @Override
+      public String getName() {
+        return "value";
+      }
+
+      @Override
+      public float getFraction(float[] target) {
+        return target[0];
+      }
+
+      @Override
+      public void setFraction(float[] target, float fraction) {
+        target[0] = fraction;
+      }
+    };
+
+    private final double tension;
+    private final double friction;
+
+    private SpringScenario(double tension, double friction) {
+      this.tension = tension;
+      this.friction = friction;
+    }
+
+    @Override
+    public float[] createTarget() {
+      return new float[1];
+    }
+
+    @Override
+    public void addPlans(HeadlessPerformer<float[]> performer) {
+      HeadlessSpringTo<float[]> plan = new HeadlessSpringTo<>(VALUE, 100f);
+      plan.configuration = new SpringConfig(tension, friction);
+      performer.addPlan(plan);
+    }
+  }
+}
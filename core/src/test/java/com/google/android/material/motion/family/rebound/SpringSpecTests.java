@@ -0,0 +1,62 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.facebook.rebound.SpringConfig;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class SpringSpecTests {
+
+  @Test
+  public void springSpecRoundTripsSettleDurationAndDampingRatio() {
+    SpringConfig config = SpringSpec.fromSettleDuration(300, .7);
+
+    assertThat(SpringSpec.getDampingRatio(config)).isWithin(1e-6).of(.7);
+    assertThat(SpringSpec.getSettleMillis(config)).isEqualTo(300L);
+  }
+
+  @Test
+  public void springSpecRoundTripsOrigamiValues() {
+    SpringConfig config = SpringSpec.fromOrigami(40, 7);
+
+    assertThat(config.tension).isWithin(0.01).of(230.2);
+    assertThat(config.friction).isWithin(0.01).of(22);
+    assertThat(SpringSpec.getOrigamiTension(config)).isWithin(1e-6).of(40);
+    assertThat(SpringSpec.getOrigamiFriction(config)).isWithin(1e-6).of(7);
+  }
+
+  @Test
+  public void criticallyDampedSpringHasDampingRatioOfOne() {
+    SpringConfig config = SpringSpec.criticallyDamped(SpringSpec.DEFAULT_TENSION);
+
+    assertThat(SpringSpec.getDampingRatio(config)).isWithin(1e-6).of(1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void settleTimeOfSpringWithoutFrictionIsRejected() {
+    SpringSpec.getSettleMillis(new SpringConfig(SpringSpec.DEFAULT_TENSION, 0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void settleTimeOfSpringWithoutTensionIsRejected() {
+    SpringSpec.getSettleMillis(new SpringConfig(0, SpringSpec.DEFAULT_FRICTION));
+  }
+}
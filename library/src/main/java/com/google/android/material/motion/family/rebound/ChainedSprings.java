@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+
+import com.facebook.rebound.SimpleSpringListener;
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringChain;
+import com.facebook.rebound.SpringConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drives a property of a chain of targets with one spring per target. Every spring's end value
+ * follows the previous spring's current value, like Rebound's {@link SpringChain}.
+ * <p>
+ * Springs are kept when the chain shrinks, and reused when it grows again.
+ */
+class ChainedSprings<T> {
+
+  /**
+   * The distance between a spring and its target's value below which the spring is considered to
+   * hold the target's value.
+   */
+  private static final double EPSILON = 0.01f;
+
+  /**
+   * Creates the springs of the chain.
+   */
+  interface SpringFactory {
+
+    Spring createSpring();
+  }
+
+  final ReboundProperty<? super T, ?> property;
+
+  private final SpringFactory springFactory;
+  @VisibleForTesting
+  final List<Spring> springs = new ArrayList<>();
+  /**
+   * The listeners of the springs, which springs only reach through {@link WeakSpringListener}.
+   */
+  private final List<Link> links = new ArrayList<>();
+  private Object[] targets = new Object[0];
+
+  ChainedSprings(ReboundProperty<? super T, ?> property, SpringFactory springFactory) {
+    this.property = property;
+    this.springFactory = springFactory;
+  }
+
+  /**
+   * Starts pulling the first target towards the destination fraction, and every other target
+   * towards the previous target.
+   */
+  void start(
+    List<? extends T> newTargets,
+    float destinationFraction,
+    @Nullable SpringConfig configuration,
+    @Nullable SpringConfig attachmentConfiguration) {
+    int count = newTargets.size();
+    Object[] newTargetArray = new Object[count];
+    for (int i = 0; i < count; i++) {
+      newTargetArray[i] = newTargets.get(i);
+    }
+
+    // Stop springs that are no longer part of the chain.
+    for (int i = count; i < springs.size(); i++) {
+      springs.get(i).setAtRest();
+    }
+    while (springs.size() < count) {
+      Spring spring = springFactory.createSpring();
+      Link link = new Link(springs.size());
+      spring.addListener(new WeakSpringListener(link));
+      springs.add(spring);
+      links.add(link);
+    }
+    targets = newTargetArray;
+
+    for (int i = 0; i < count; i++) {
+      Spring spring = springs.get(i);
+      SpringConfig config = i == 0 ? configuration : attachmentConfiguration;
+      if (config != null) {
+        spring.getSpringConfig().tension = config.tension;
+        spring.getSpringConfig().friction = config.friction;
+      }
+
+      // Springs that still hold their target's value keep moving, so the chain retargets smoothly.
+      // Targets moved by someone else are picked up without stopping their spring.
+      //noinspection unchecked
+      float currentFraction = property.getFraction((T) targets[i]);
+      if (Math.abs(spring.getCurrentValue() - currentFraction) > EPSILON) {
+        boolean setAtRest = false;
+        //noinspection ConstantConditions
+        spring.setCurrentValue(currentFraction, setAtRest);
+      }
+    }
+
+    for (int i = count - 1; i > 0; i--) {
+      springs.get(i).setEndValue(springs.get(i - 1).getCurrentValue());
+    }
+    if (count > 0) {
+      springs.get(0).setEndValue(destinationFraction);
+    }
+  }
+
+  /**
+   * Writes a spring's value to its target, and pulls the next spring towards it.
+   */
+  private class Link extends SimpleSpringListener {
+
+    private final int index;
+
+    private Link(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public void onSpringUpdate(Spring spring) {
+      if (index >= targets.length) {
+        return;
+      }
+
+      float fraction = (float) spring.getCurrentValue();
+      //noinspection unchecked
+      property.setFraction((T) targets[index], fraction);
+      if (index + 1 < targets.length) {
+        springs.get(index + 1).setEndValue(fraction);
+      }
+    }
+  }
+}
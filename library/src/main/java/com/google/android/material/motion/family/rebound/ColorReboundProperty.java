@@ -0,0 +1,207 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.util.Property;
+
+/**
+ * A {@link MultiChannelReboundProperty} for ARGB colors that reads and writes the target with
+ * primitive calls.
+ * <p>
+ * Colors are interpolated in a {@link Space color space} where mixing looks natural, rather than
+ * in sRGB. Conversions between sRGB and linear RGB use lookup tables, so writing a color on each
+ * frame costs a few multiplications and table lookups.
+ *
+ * @param <T> The type of the target this property acts on.
+ */
+public abstract class ColorReboundProperty<T> extends MultiChannelReboundProperty<T, Integer> {
+
+  /**
+   * The color space in which the color channels are interpolated.
+   */
+  public enum Space {
+    /**
+     * Linear RGB. Mixing colors matches the way light mixes.
+     */
+    LINEAR_RGB,
+    /**
+     * OKLab. Mixing colors keeps perceived lightness and hue even.
+     */
+    OKLAB
+  }
+
+  /**
+   * The number of entries in the linear to sRGB table. Large enough that adjacent entries never
+   * differ by more than one 8-bit step.
+   */
+  private static final int LINEAR_TABLE_SIZE = 4096;
+
+  private static final float[] SRGB_TO_LINEAR = new float[256];
+  private static final byte[] LINEAR_TO_SRGB = new byte[LINEAR_TABLE_SIZE];
+
+  static {
+    for (int i = 0; i < SRGB_TO_LINEAR.length; i++) {
+      double srgb = i / 255.0;
+      SRGB_TO_LINEAR[i] = (float) (srgb <= 0.04045
+        ? srgb / 12.92
+        : Math.pow((srgb + 0.055) / 1.055, 2.4));
+    }
+    for (int i = 0; i < LINEAR_TO_SRGB.length; i++) {
+      double linear = i / (double) (LINEAR_TABLE_SIZE - 1);
+      double srgb = linear <= 0.0031308
+        ? linear * 12.92
+        : 1.055 * Math.pow(linear, 1 / 2.4) - 0.055;
+      LINEAR_TO_SRGB[i] = (byte) Math.round(srgb * 255);
+    }
+  }
+
+  private final Space space;
+
+  /**
+   * Creates a color property with the given name that interpolates in the given color space.
+   */
+  protected ColorReboundProperty(String name, Space space) {
+    super(new ColorPropertyAdapter<T>(name), 4);
+    ((ColorPropertyAdapter<T>) property).owner = this;
+    this.space = space;
+  }
+
+  /**
+   * Returns the ARGB color of this property on the target.
+   */
+  public abstract int getColor(T target);
+
+  /**
+   * Sets the ARGB color of this property on the target.
+   */
+  public abstract void setColor(T target, int color);
+
+  /**
+   * Returns the color space in which this property is interpolated.
+   */
+  public final Space getSpace() {
+    return space;
+  }
+
+  @Override
+  public final void toChannels(Integer value, float[] channels) {
+    toChannels(value.intValue(), channels);
+  }
+
+  @Override
+  public final void getChannels(T target, float[] channels) {
+    toChannels(getColor(target), channels);
+  }
+
+  @Override
+  public final void setChannels(T target, float[] channels) {
+    setColor(target, toColor(channels));
+  }
+
+  /**
+   * Decomposes an ARGB color into alpha followed by three channels in this property's color space.
+   */
+  void toChannels(int color, float[] channels) {
+    channels[0] = (color >>> 24) / 255f;
+    float r = SRGB_TO_LINEAR[(color >> 16) & 0xff];
+    float g = SRGB_TO_LINEAR[(color >> 8) & 0xff];
+    float b = SRGB_TO_LINEAR[color & 0xff];
+
+    switch (space) {
+      case LINEAR_RGB:
+        channels[1] = r;
+        channels[2] = g;
+        channels[3] = b;
+        break;
+      case OKLAB:
+        // The cube roots are only taken when a spring is started, never per frame.
+        double l = Math.cbrt(0.4122214708 * r + 0.5363325363 * g + 0.0514459929 * b);
+        double m = Math.cbrt(0.2119034982 * r + 0.6806995451 * g + 0.1073969566 * b);
+        double s = Math.cbrt(0.0883024619 * r + 0.2817188376 * g + 0.6299787005 * b);
+        channels[1] = (float) (0.2104542553 * l + 0.7936177850 * m - 0.0040720468 * s);
+        channels[2] = (float) (1.9779984951 * l - 2.4285922050 * m + 0.4505937099 * s);
+        channels[3] = (float) (0.0259040371 * l + 0.7827717662 * m - 0.8086757660 * s);
+        break;
+    }
+  }
+
+  /**
+   * Composes an ARGB color from channels produced by {@link #toChannels(int, float[])}. Channels
+   * outside of the sRGB gamut, as when a spring overshoots, are clamped.
+   */
+  int toColor(float[] channels) {
+    float r;
+    float g;
+    float b;
+
+    switch (space) {
+      case OKLAB:
+        float lab0 = channels[1];
+        float lab1 = channels[2];
+        float lab2 = channels[3];
+        float l = lab0 + 0.3963377774f * lab1 + 0.2158037573f * lab2;
+        float m = lab0 - 0.1055613458f * lab1 - 0.0638541728f * lab2;
+        float s = lab0 - 0.0894841775f * lab1 - 1.2914855480f * lab2;
+        l = l * l * l;
+        m = m * m * m;
+        s = s * s * s;
+        r = 4.0767416621f * l - 3.3077115913f * m + 0.2309699292f * s;
+        g = -1.2684380046f * l + 2.6097574011f * m - 0.3413193965f * s;
+        b = -0.0041960863f * l - 0.7034186147f * m + 1.7076147010f * s;
+        break;
+      case LINEAR_RGB:
+      default:
+        r = channels[1];
+        g = channels[2];
+        b = channels[3];
+        break;
+    }
+
+    int alpha = Math.round(clamp(channels[0]) * 255);
+    return alpha << 24 | toSrgb(r) << 16 | toSrgb(g) << 8 | toSrgb(b);
+  }
+
+  private static int toSrgb(float linear) {
+    return LINEAR_TO_SRGB[Math.round(clamp(linear) * (LINEAR_TABLE_SIZE - 1))] & 0xff;
+  }
+
+  private static float clamp(float value) {
+    return value < 0f ? 0f : value > 1f ? 1f : value;
+  }
+
+  /**
+   * Exposes a ColorReboundProperty as a {@link Property} for callers that are not
+   * performance-sensitive.
+   */
+  private static class ColorPropertyAdapter<T> extends Property<T, Integer> {
+
+    private ColorReboundProperty<T> owner;
+
+    private ColorPropertyAdapter(String name) {
+      super(Integer.class, name);
+    }
+
+    @Override
+    public Integer get(T object) {
+      return owner.getColor(object);
+    }
+
+    @Override
+    public void set(T object, Integer value) {
+      owner.setColor(object, value);
+    }
+  }
+}
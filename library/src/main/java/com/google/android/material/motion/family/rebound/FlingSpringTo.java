@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.view.View;
+
+/**
+ * Flings a view's {@link ReboundProperty property} with a velocity, and then pulls it to the
+ * nearest snap point with a {@link SpringTo spring}.
+ */
+public class FlingSpringTo extends ObjectFlingSpringTo<View> {
+
+  /**
+   * Initializes a FlingSpringTo plan.
+   *
+   * @param property The property to fling.
+   * @param velocity The initial velocity of the property, in units per second.
+   * @param snapPoints The values the property may come to rest at, in ascending order.
+   */
+  public FlingSpringTo(
+    ReboundProperty<? super View, Float> property, float velocity, float... snapPoints) {
+    super(property, velocity, snapPoints);
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.util.Property;
+
+/**
+ * A {@link ReboundProperty} for float values that reads and writes the target with primitive
+ * calls. Neither reflection nor boxing is used when the property is animated by a spring.
+ * <p>
+ * Subclasses are usually generated by annotating a class's float getter and setter with
+ * {@code @SpringProperty}.
+ *
+ * @param <T> The type of the target this property acts on.
+ */
+public abstract class FloatReboundProperty<T> extends ReboundProperty<T, Float> {
+
+  /**
+   * Creates a float property with the given name.
+   */
+  protected FloatReboundProperty(String name) {
+    super(new FloatPropertyAdapter<T>(name), NO_OP);
+    ((FloatPropertyAdapter<T>) property).owner = this;
+  }
+
+  /**
+   * Returns the value of this property on the target.
+   */
+  public abstract float getValue(T target);
+
+  /**
+   * Sets the value of this property on the target.
+   */
+  public abstract void setValue(T target, float value);
+
+  @Override
+  public final float getFraction(T target) {
+    return getValue(target);
+  }
+
+  @Override
+  public final void setFraction(T target, float fraction) {
+    setValue(target, fraction);
+  }
+
+  /**
+   * Exposes a FloatReboundProperty as a {@link Property} for callers that are not
+   * performance-sensitive.
+   */
+  private static class FloatPropertyAdapter<T> extends Property<T, Float> {
+
+    private FloatReboundProperty<T> owner;
+
+    private FloatPropertyAdapter(String name) {
+      super(Float.class, name);
+    }
+
+    @Override
+    public Float get(T object) {
+      return owner.getValue(object);
+    }
+
+    @Override
+    public void set(T object, Float value) {
+      owner.setValue(object, value);
+    }
+  }
+}
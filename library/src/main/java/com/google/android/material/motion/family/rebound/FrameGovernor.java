@@ -0,0 +1,207 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.support.annotation.Nullable;
+
+/**
+ * Watches the time between frames of the spring integration loop, and lowers the fidelity of
+ * {@link ObjectSpringTo#PRIORITY_LOW low-priority} springs while frames are missed.
+ * <p>
+ * The governor moves between {@link #LEVEL_FULL}, {@link #LEVEL_REDUCED} and {@link
+ * #LEVEL_MINIMAL} one level at a time, only after frame times stay above or below the budget for
+ * a sustained number of frames. Springs of other priorities always keep full fidelity.
+ *
+ * @see ReboundPerformer#setFrameGovernor(FrameGovernor)
+ */
+public class FrameGovernor {
+
+  /**
+   * Low-priority springs are written on every frame.
+   */
+  public static final int LEVEL_FULL = 0;
+  /**
+   * Low-priority springs are written on every other frame.
+   */
+  public static final int LEVEL_REDUCED = 1;
+  /**
+   * Low-priority springs are written on every other frame, and snap to their destinations when
+   * started.
+   */
+  public static final int LEVEL_MINIMAL = 2;
+
+  /**
+   * The budget of a frame at 60 frames per second, in milliseconds.
+   */
+  public static final double DEFAULT_FRAME_BUDGET_MILLIS = 1000.0 / 60;
+
+  /**
+   * The weight of the latest frame in the average frame time.
+   */
+  private static final double SMOOTHING = 0.1;
+  /**
+   * The average frame time, relative to the budget, above which frames are under pressure.
+   */
+  private static final double PRESSURE_RATIO = 1.5;
+  /**
+   * The average frame time, relative to the budget, below which pressure is relieved.
+   */
+  private static final double RELIEF_RATIO = 1.15;
+  /**
+   * The number of frames under pressure before the level is raised. Twice as many frames without
+   * pressure are needed before the level is lowered, so the level does not oscillate.
+   */
+  private static final int SUSTAINED_FRAMES = 30;
+  /**
+   * Frames longer than this, as when the loop resumes after being idle, are counted as this long.
+   */
+  private static final double MAX_FRAME_MILLIS = 100;
+
+  /**
+   * Notified of the governor's decisions.
+   */
+  public interface MetricsListener {
+
+    /**
+     * Called when the governor changes the fidelity of low-priority springs.
+     *
+     * @param level The new level, one of {@link FrameGovernor#LEVEL_FULL}, {@link
+     * FrameGovernor#LEVEL_REDUCED} or {@link FrameGovernor#LEVEL_MINIMAL}.
+     * @param averageFrameMillis The average frame time that caused the change.
+     */
+    void onLevelChanged(int level, double averageFrameMillis);
+  }
+
+  private final double frameBudgetMillis;
+  @Nullable
+  private MetricsListener listener;
+
+  private int level = LEVEL_FULL;
+  private double averageFrameMillis;
+  private int pressureFrames;
+  private int reliefFrames;
+
+  private int skippedWriteCount;
+  private int snappedSpringCount;
+
+  /**
+   * Creates a governor for a display that runs at 60 frames per second.
+   */
+  public FrameGovernor() {
+    this(DEFAULT_FRAME_BUDGET_MILLIS);
+  }
+
+  /**
+   * Creates a governor with the given frame budget, in milliseconds.
+   */
+  public FrameGovernor(double frameBudgetMillis) {
+    this.frameBudgetMillis = frameBudgetMillis;
+  }
+
+  /**
+   * Sets the listener that is notified of level changes, or removes it if null.
+   */
+  public void setMetricsListener(@Nullable MetricsListener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * Returns the current level.
+   */
+  public int getLevel() {
+    return level;
+  }
+
+  /**
+   * Returns the smoothed time between frames, in milliseconds.
+   */
+  public double getAverageFrameMillis() {
+    return averageFrameMillis;
+  }
+
+  /**
+   * Returns the number of low-priority spring values that were not written to their properties.
+   */
+  public int getSkippedWriteCount() {
+    return skippedWriteCount;
+  }
+
+  /**
+   * Returns the number of low-priority springs that snapped to their destination.
+   */
+  public int getSnappedSpringCount() {
+    return snappedSpringCount;
+  }
+
+  /**
+   * Accounts for the time since the previous frame.
+   */
+  void onFrame(double ellapsedMillis) {
+    double frameMillis = Math.min(ellapsedMillis, MAX_FRAME_MILLIS);
+    averageFrameMillis = averageFrameMillis == 0
+      ? frameMillis
+      : averageFrameMillis + (frameMillis - averageFrameMillis) * SMOOTHING;
+
+    if (averageFrameMillis > frameBudgetMillis * PRESSURE_RATIO) {
+      pressureFrames++;
+      reliefFrames = 0;
+    } else if (averageFrameMillis < frameBudgetMillis * RELIEF_RATIO) {
+      reliefFrames++;
+      pressureFrames = 0;
+    } else {
+      pressureFrames = 0;
+      reliefFrames = 0;
+    }
+
+    if (pressureFrames >= SUSTAINED_FRAMES && level < LEVEL_MINIMAL) {
+      setLevel(level + 1);
+    } else if (reliefFrames >= SUSTAINED_FRAMES * 2 && level > LEVEL_FULL) {
+      setLevel(level - 1);
+    }
+  }
+
+  /**
+   * Returns true if a low-priority spring's value should not be written to its property on this
+   * frame.
+   */
+  boolean shouldSkipWrite(int frameCount) {
+    if (level == LEVEL_FULL || frameCount % 2 == 0) {
+      return false;
+    }
+    skippedWriteCount++;
+    return true;
+  }
+
+  /**
+   * Returns true if a low-priority spring should jump to its destination rather than move to it.
+   */
+  boolean shouldSnap() {
+    if (level != LEVEL_MINIMAL) {
+      return false;
+    }
+    snappedSpringCount++;
+    return true;
+  }
+
+  private void setLevel(int level) {
+    this.level = level;
+    pressureFrames = 0;
+    reliefFrames = 0;
+    if (listener != null) {
+      listener.onLevelChanged(level, averageFrameMillis);
+    }
+  }
+}
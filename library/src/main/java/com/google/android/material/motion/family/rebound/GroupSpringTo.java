@@ -0,0 +1,39 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.view.View;
+
+import com.facebook.rebound.Spring;
+
+import java.util.List;
+
+/**
+ * Pull a {@link ReboundProperty property} of every view in a group towards a specific value using
+ * a single shared {@link Spring Rebound spring}.
+ *
+ * @see ObjectGroupSpringTo
+ */
+public class GroupSpringTo<V> extends ObjectGroupSpringTo<View, V> {
+
+  /**
+   * Initializes a GroupSpringTo plan for the property of the targets with a destination.
+   */
+  public GroupSpringTo(
+    ReboundProperty<? super View, V> property, List<View> targets, V destination) {
+    super(property, targets, destination);
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.annotation.TargetApi;
+import android.content.BroadcastReceiver;
+import android.content.ContentResolver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.database.ContentObserver;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.provider.Settings;
+
+/**
+ * Decides how much motion the {@link ReboundPerformer rebound performers} produce, so that motion
+ * can be reduced for every plan without changing the plans.
+ * <p>
+ * The policy scales the time springs take to settle. A scale of 1 leaves springs untouched. Other
+ * scales change the tension and friction of springs so they settle in proportionally more or less
+ * time with the same damping ratio, and scale the delays of plans. A scale of 0 snaps springs to
+ * their destinations, so no frames are integrated at all.
+ *
+ * @see ReboundPerformer#setMotionPolicy(MotionPolicy)
+ */
+public abstract class MotionPolicy {
+
+  /**
+   * The duration scale used in power save mode, unless the system's scale is smaller.
+   */
+  public static final float POWER_SAVE_DURATION_SCALE = 0.5f;
+
+  /**
+   * A policy that leaves all motion untouched.
+   */
+  public static final MotionPolicy FULL_MOTION = fixed(1f);
+
+  /**
+   * A policy that snaps all springs to their destinations.
+   */
+  public static final MotionPolicy NO_MOTION = fixed(0f);
+
+  /**
+   * Returns the factor applied to the time springs take to settle. 0 snaps springs to their
+   * destinations.
+   * <p>
+   * Called every time a spring is started, so implementations should return a cached value.
+   */
+  public abstract float getDurationScale();
+
+  /**
+   * Creates a policy that always applies the given duration scale.
+   */
+  public static MotionPolicy fixed(final float durationScale) {
+    if (durationScale < 0f) {
+      throw new IllegalArgumentException("Duration scale must not be negative: " + durationScale);
+    }
+    return new MotionPolicy() {
+      @Override
+      public float getDurationScale() {
+        return durationScale;
+      }
+    };
+  }
+
+  /**
+   * Creates a policy that follows the system's animator duration scale, which is 0 when
+   * animations are removed in the developer or accessibility settings, and shortens motion to
+   * {@link #POWER_SAVE_DURATION_SCALE} in power save mode.
+   * <p>
+   * The policy observes changes to the settings for as long as the process lives. Call this once,
+   * typically from {@link android.app.Application#onCreate()}.
+   */
+  public static MotionPolicy fromSystem(Context context) {
+    return new SystemMotionPolicy(context.getApplicationContext());
+  }
+
+  /**
+   * Reads the system settings when they change, rather than every time a spring is started.
+   */
+  private static class SystemMotionPolicy extends MotionPolicy {
+
+    /**
+     * The name of the setting, which moved from {@link Settings.System} to {@link
+     * Settings.Global} in API 17. Older APIs have no constant for it.
+     */
+    private static final String ANIMATOR_DURATION_SCALE = "animator_duration_scale";
+
+    private final Context context;
+    private volatile float durationScale;
+
+    private SystemMotionPolicy(Context context) {
+      this.context = context;
+
+      Handler handler = new Handler(Looper.getMainLooper());
+      ContentObserver observer = new ContentObserver(handler) {
+        @Override
+        public void onChange(boolean selfChange) {
+          update();
+        }
+      };
+      context.getContentResolver().registerContentObserver(getDurationScaleUri(), false, observer);
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+        context.registerReceiver(new BroadcastReceiver() {
+          @Override
+          public void onReceive(Context context, Intent intent) {
+            update();
+          }
+        }, new IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED), null, handler);
+      }
+
+      update();
+    }
+
+    @Override
+    public float getDurationScale() {
+      return durationScale;
+    }
+
+    private void update() {
+      float scale = readSystemDurationScale();
+      if (isPowerSaveMode()) {
+        scale = Math.min(scale, POWER_SAVE_DURATION_SCALE);
+      }
+      durationScale = scale;
+    }
+
+    private float readSystemDurationScale() {
+      ContentResolver resolver = context.getContentResolver();
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+        return Settings.Global.getFloat(resolver, ANIMATOR_DURATION_SCALE, 1f);
+      }
+      return Settings.System.getFloat(resolver, ANIMATOR_DURATION_SCALE, 1f);
+    }
+
+    private static Uri getDurationScaleUri() {
+      return Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1
+        ? Settings.Global.getUriFor(ANIMATOR_DURATION_SCALE)
+        : Settings.System.getUriFor(ANIMATOR_DURATION_SCALE);
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    private boolean isPowerSaveMode() {
+      if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+        return false;
+      }
+      PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+      return powerManager.isPowerSaveMode();
+    }
+  }
+}
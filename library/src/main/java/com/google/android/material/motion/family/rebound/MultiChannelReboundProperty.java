@@ -0,0 +1,286 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.graphics.Matrix;
+import android.graphics.PointF;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.util.Property;
+
+/**
+ * A {@link ReboundProperty} whose value is decomposed into a fixed number of float channels, such
+ * as the components of a color or the edges of a rect.
+ * <p>
+ * A single spring drives all channels from their start values to their destination values.
+ * Channel values are kept in buffers owned by the performer and are written to the target with
+ * {@link #setChannels(Object, float[])}, so animating the property allocates nothing per frame.
+ * <p>
+ * Subclasses can write the channels straight into primitive setters, for example
+ * {@code View.setBackgroundColor(int)}. Properties whose value type is mutable can instead be
+ * created with {@link #of(Property, ChannelConverter)}, which writes into one reused instance.
+ * <p>
+ * Performers drive multi-channel properties through their channels only. The single fraction of
+ * a multi-channel property is its first channel.
+ * <p>
+ * Multi-channel properties can not be animated by group or chain plans.
+ *
+ * @param <T> The type of the target this property acts on.
+ * @param <V> The type of the value this property acts on.
+ */
+public abstract class MultiChannelReboundProperty<T, V> extends ReboundProperty<T, V> {
+
+  public static final ChannelConverter<PointF> POINT_F = new PointFConverter();
+  public static final ChannelConverter<RectF> RECT_F = new RectFConverter();
+  public static final ChannelConverter<Rect> RECT = new RectConverter();
+  public static final ChannelConverter<Matrix> MATRIX = new MatrixConverter();
+
+  private final int channelCount;
+
+  protected MultiChannelReboundProperty(Property<T, V> property, int channelCount) {
+    super(property, null);
+    this.channelCount = channelCount;
+  }
+
+  /**
+   * Creates a property that writes the channels into a single reused instance of the value type.
+   * <p>
+   * The target must copy the value passed to its setter, as {@link
+   * android.view.View#setClipBounds(Rect)} does, because the same instance is written to on every
+   * frame.
+   */
+  public static <T, V> MultiChannelReboundProperty<T, V> of(
+    Property<T, V> property, ChannelConverter<V> converter) {
+    return new ReusingProperty<>(property, converter);
+  }
+
+  /**
+   * Returns the number of channels this property's values are decomposed into.
+   */
+  public final int getChannelCount() {
+    return channelCount;
+  }
+
+  /**
+   * Decomposes a value into {@code channels}.
+   */
+  public abstract void toChannels(V value, float[] channels);
+
+  /**
+   * Reads the channels of this property on the target into {@code channels}. If the property has
+   * no value on the target, such as unset clip bounds, {@code channels} are left unchanged.
+   * Performers fill them with the destination first, so a property without a value jumps to the
+   * destination.
+   * <p>
+   * The default implementation reads the value with {@link #property}. Subclasses backed by
+   * primitive getters should override this to avoid the allocation.
+   */
+  public void getChannels(T target, float[] channels) {
+    V value = property.get(target);
+    if (value != null) {
+      toChannels(value, channels);
+    }
+  }
+
+  /**
+   * Writes {@code channels} to this property on the target.
+   */
+  public abstract void setChannels(T target, float[] channels);
+
+  /**
+   * Returns the first channel of this property on the target, or 0 if the property has no value.
+   * Allocates a channel buffer, so prefer {@link #getChannels(Object, float[])}.
+   */
+  @Override
+  public final float getFraction(T target) {
+    float[] channels = new float[channelCount];
+    getChannels(target, channels);
+    return channels[0];
+  }
+
+  /**
+   * Sets the first channel of this property on the target and keeps the other channels. Allocates
+   * a channel buffer, so prefer {@link #setChannels(Object, float[])}.
+   */
+  @Override
+  public final void setFraction(T target, float fraction) {
+    float[] channels = new float[channelCount];
+    getChannels(target, channels);
+    channels[0] = fraction;
+    setChannels(target, channels);
+  }
+
+  /**
+   * Converts a mutable value to float channels and back again.
+   *
+   * @param <V> The type of the value.
+   */
+  public interface ChannelConverter<V> {
+
+    /**
+     * Returns the number of channels a value is decomposed into.
+     */
+    int getChannelCount();
+
+    /**
+     * Decomposes a value into {@code channels}.
+     */
+    void toChannels(V value, float[] channels);
+
+    /**
+     * Creates an instance of the value type that will be reused by {@link #fromChannels}.
+     */
+    V newValue();
+
+    /**
+     * Writes {@code channels} into {@code value}.
+     */
+    void fromChannels(float[] channels, V value);
+  }
+
+  /**
+   * A multi-channel property that writes into one reused instance of the value type.
+   */
+  private static class ReusingProperty<T, V> extends MultiChannelReboundProperty<T, V> {
+
+    private final ChannelConverter<V> converter;
+    private final V value;
+
+    private ReusingProperty(Property<T, V> property, ChannelConverter<V> converter) {
+      super(property, converter.getChannelCount());
+      this.converter = converter;
+      this.value = converter.newValue();
+    }
+
+    @Override
+    public void toChannels(V value, float[] channels) {
+      converter.toChannels(value, channels);
+    }
+
+    @Override
+    public void setChannels(T target, float[] channels) {
+      converter.fromChannels(channels, value);
+      property.set(target, value);
+    }
+  }
+
+  private static class PointFConverter implements ChannelConverter<PointF> {
+
+    @Override
+    public int getChannelCount() {
+      return 2;
+    }
+
+    @Override
+    public void toChannels(PointF value, float[] channels) {
+      channels[0] = value.x;
+      channels[1] = value.y;
+    }
+
+    @Override
+    public PointF newValue() {
+      return new PointF();
+    }
+
+    @Override
+    public void fromChannels(float[] channels, PointF value) {
+      value.set(channels[0], channels[1]);
+    }
+  }
+
+  private static class RectFConverter implements ChannelConverter<RectF> {
+
+    @Override
+    public int getChannelCount() {
+      return 4;
+    }
+
+    @Override
+    public void toChannels(RectF value, float[] channels) {
+      channels[0] = value.left;
+      channels[1] = value.top;
+      channels[2] = value.right;
+      channels[3] = value.bottom;
+    }
+
+    @Override
+    public RectF newValue() {
+      return new RectF();
+    }
+
+    @Override
+    public void fromChannels(float[] channels, RectF value) {
+      value.set(channels[0], channels[1], channels[2], channels[3]);
+    }
+  }
+
+  private static class RectConverter implements ChannelConverter<Rect> {
+
+    @Override
+    public int getChannelCount() {
+      return 4;
+    }
+
+    @Override
+    public void toChannels(Rect value, float[] channels) {
+      channels[0] = value.left;
+      channels[1] = value.top;
+      channels[2] = value.right;
+      channels[3] = value.bottom;
+    }
+
+    @Override
+    public Rect newValue() {
+      return new Rect();
+    }
+
+    @Override
+    public void fromChannels(float[] channels, Rect value) {
+      value.set(
+        Math.round(channels[0]),
+        Math.round(channels[1]),
+        Math.round(channels[2]),
+        Math.round(channels[3]));
+    }
+  }
+
+  /**
+   * Decomposes a matrix into its nine values. Interpolating the values directly is only suitable
+   * for matrices without rotation.
+   */
+  private static class MatrixConverter implements ChannelConverter<Matrix> {
+
+    @Override
+    public int getChannelCount() {
+      return 9;
+    }
+
+    @Override
+    public void toChannels(Matrix value, float[] channels) {
+      value.getValues(channels);
+    }
+
+    @Override
+    public Matrix newValue() {
+      return new Matrix();
+    }
+
+    @Override
+    public void fromChannels(float[] channels, Matrix value) {
+      value.setValues(channels);
+    }
+  }
+}
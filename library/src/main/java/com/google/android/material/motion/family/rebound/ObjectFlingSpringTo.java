@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.support.annotation.Nullable;
+
+import com.facebook.rebound.SpringConfig;
+import com.google.android.material.motion.runtime.Performer;
+import com.google.android.material.motion.runtime.Plan;
+
+/**
+ * Flings an object's {@link ReboundProperty property} with a velocity, and then pulls it to the
+ * nearest snap point with a {@link SpringTo spring}.
+ * <p>
+ * The property first decays from {@link #velocity} with exponential friction. The point where the
+ * decay would come to rest is known as soon as the plan is applied, so the snap point nearest to
+ * it is chosen up front. The spring takes over, with the decay's position and velocity, as soon as
+ * the decay alone would stop short of the snap point or once it passes the snap point.
+ * <p>
+ * Both phases run in the spring integration loop. A later SpringTo plan for the property, or a
+ * gesture that pauses or tracks the property, ends the fling.
+ */
+public class ObjectFlingSpringTo<T> extends Plan<T> {
+
+  /**
+   * The default decay rate. A fling travels {@code velocity / DEFAULT_DECAY_RATE} before coming to
+   * rest.
+   */
+  public static final float DEFAULT_DECAY_RATE = 4f;
+
+  public final ReboundProperty<? super T, Float> property;
+
+  /**
+   * The initial velocity of the property, in units per second. Typically the gesture's velocity
+   * when it was released.
+   */
+  public float velocity;
+
+  /**
+   * The values the property may come to rest at, in ascending order. If empty then the property
+   * comes to rest where the decay would.
+   */
+  public float[] snapPoints;
+
+  /**
+   * The rate at which the velocity decays, per second. Must be positive, or adding the plan throws
+   * an {@link IllegalArgumentException}.
+   */
+  public float decayRate = DEFAULT_DECAY_RATE;
+
+  /**
+   * The configuration of the spring that pulls the property to the snap point.
+   * <p>
+   * If null then the spring's configuration will not be affected.
+   */
+  @Nullable
+  public SpringConfig configuration;
+
+  /**
+   * Initializes a FlingSpringTo plan.
+   *
+   * @param property The property to fling.
+   * @param velocity The initial velocity of the property, in units per second.
+   * @param snapPoints The values the property may come to rest at, in ascending order.
+   */
+  public ObjectFlingSpringTo(
+    ReboundProperty<? super T, Float> property, float velocity, float... snapPoints) {
+    this.property = property;
+    this.velocity = velocity;
+    this.snapPoints = snapPoints;
+  }
+
+  @Override
+  public Class<? extends Performer<T>> getPerformerClass() {
+    return (Class<? extends Performer<T>>) new ReboundPerformer<T>().getClass();
+  }
+
+  @Override
+  public Plan clone() {
+    //noinspection unchecked
+    ObjectFlingSpringTo<T> clone = (ObjectFlingSpringTo<T>) super.clone();
+    clone.snapPoints = snapPoints.clone();
+    if (configuration != null) {
+      clone.configuration = new SpringConfig(configuration.tension, configuration.friction);
+    }
+    return clone;
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.support.annotation.Nullable;
+
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringConfig;
+import com.google.android.material.motion.runtime.Performer;
+import com.google.android.material.motion.runtime.Plan;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pull a {@link ReboundProperty property} of every object in a group towards a specific value
+ * using a single shared {@link Spring Rebound spring}. All targets are written in one pass per
+ * frame, so animating many targets costs about as much as animating one.
+ * <p>
+ * Each target moves from its own current value to the {@link #destination} along the same
+ * normalized curve. Add the plan to an object that identifies the group, such as the targets'
+ * parent. When multiple plans are added for the same property to the same object, the
+ * last-registered plan's {@link #targets} and {@link #destination} will be used.
+ */
+public class ObjectGroupSpringTo<T, V> extends Plan<Object> {
+
+  /**
+   * The property whose value should be pulled towards the destination on every target.
+   */
+  public final ReboundProperty<? super T, V> property;
+
+  /**
+   * The objects whose property should be pulled towards the destination.
+   */
+  public List<T> targets;
+
+  /**
+   * The value to which the property should be pulled.
+   */
+  public V destination;
+
+  /**
+   * The shared spring's desired configuration.
+   * <p>
+   * If null then the spring's configuration will not be affected.
+   */
+  @Nullable
+  public SpringConfig configuration;
+
+  /**
+   * The time in milliseconds between the start of consecutive targets.
+   * <p>
+   * Staggered targets follow the shared spring's curve at increasing offsets, so staggering does
+   * not create additional springs.
+   */
+  public long stagger;
+
+  /**
+   * Initializes a GroupSpringTo plan for the property of the targets with a destination.
+   */
+  public ObjectGroupSpringTo(
+    ReboundProperty<? super T, V> property, List<T> targets, V destination) {
+    this.property = property;
+    this.targets = targets;
+    this.destination = destination;
+  }
+
+  @Override
+  public Class<? extends Performer<Object>> getPerformerClass() {
+    return (Class<? extends Performer<Object>>) new ReboundPerformer<>().getClass();
+  }
+
+  @Override
+  public Plan clone() {
+    //noinspection unchecked
+    ObjectGroupSpringTo<T, V> clone = (ObjectGroupSpringTo<T, V>) super.clone();
+    clone.targets = new ArrayList<>(targets);
+    if (configuration != null) {
+      clone.configuration = new SpringConfig(configuration.tension, configuration.friction);
+    }
+    return clone;
+  }
+}
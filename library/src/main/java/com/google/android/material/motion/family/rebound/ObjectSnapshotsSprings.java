@@ -0,0 +1,46 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import com.google.android.material.motion.runtime.Performer;
+import com.google.android.material.motion.runtime.Plan;
+
+/**
+ * Binds a {@link ReboundSnapshot snapshot} to an object's springs. If the snapshot is not empty,
+ * the springs first resume from the snapshot's state.
+ */
+public class ObjectSnapshotsSprings<T> extends Plan<T> {
+
+  /**
+   * The snapshot to restore from and to capture into.
+   */
+  public final ReboundSnapshot snapshot;
+
+  /**
+   * Creates a SnapshotsSprings plan.
+   *
+   * @param snapshot The snapshot to restore from, if not empty, and to bind to the object's
+   * springs.
+   */
+  public ObjectSnapshotsSprings(ReboundSnapshot snapshot) {
+    this.snapshot = snapshot;
+  }
+
+  @Override
+  public Class<? extends Performer<T>> getPerformerClass() {
+    return (Class<? extends Performer<T>>) new ReboundPerformer<T>().getClass();
+  }
+}
@@ -26,6 +26,9 @@ import com.google.android.material.motion.runtime.Plan;
  * Pull an object's {@link ReboundProperty property} towards a specific value using a {@link Spring
  * Rebound spring}. When multiple plans are added to the same property, the last-registered plan's
  * {@link #destination} will be used.
+ * <p>
+ * Plans are applied on the next frame. Plans for the same property that are added within a single
+ * frame are coalesced, so only the last-registered plan is applied.
  */
 public class ObjectSpringTo<T, V> extends Plan<T> {
 
@@ -35,14 +38,24 @@ public class ObjectSpringTo<T, V> extends Plan<T> {
    * Default extracted from a {@link SpringConfig rebound spring config} with origami tension = 40
    * and origami friction = 7.
    */
-  public static final float DEFAULT_TENSION = 342f;
+  public static final float DEFAULT_TENSION = SpringSpec.DEFAULT_TENSION;
   /**
    * The default friction.
    * <p>
    * Default extracted from a {@link SpringConfig rebound spring config} with origami tension = 40
    * and origami friction = 7.
    */
-  public static final float DEFAULT_FRICTION = 30f;
+  public static final float DEFAULT_FRICTION = SpringSpec.DEFAULT_FRICTION;
+
+  /**
+   * The priority of primary motion, which always keeps full fidelity.
+   */
+  public static final int PRIORITY_DEFAULT = 0;
+  /**
+   * The priority of decorative motion, such as fades and shadows, whose fidelity may be lowered
+   * by a {@link FrameGovernor} while frames are missed.
+   */
+  public static final int PRIORITY_LOW = 1;
 
   /**
    * The property whose value should be pulled towards the destination.
@@ -58,10 +71,90 @@ public class ObjectSpringTo<T, V> extends Plan<T> {
    * The spring's desired configuration.
    * <p>
    * If null then the spring's configuration will not be affected.
+   *
+   * @see SpringSpec
    */
   @Nullable
   public SpringConfig configuration;
 
+  /**
+   * Whether the performer is the only writer of the property.
+   * <p>
+   * If true then the property is read from the target only when the spring is first started,
+   * after a {@link ObjectPausesSpring gesture} paused the spring, or after {@link
+   * ReboundProperty#notifyExternalWrite(Object)} was called for the target. In between, the
+   * spring's current value is assumed to be the property's value. If false then the property is
+   * read every time the spring is started.
+   */
+  public boolean exclusive;
+
+  /**
+   * The time in milliseconds to wait before the plan is applied.
+   * <p>
+   * Delays are measured by the spring integration loop, so delayed plans start on an exact frame
+   * without posting to a {@link android.os.Handler}.
+   */
+  public long delay;
+
+  /**
+   * The smallest value the property may take. Destinations below it are raised to it.
+   * <p>
+   * If null then the property has no lower bound. Bounds are ignored for {@link
+   * MultiChannelReboundProperty multi-channel properties}.
+   */
+  @Nullable
+  public V min;
+
+  /**
+   * The largest value the property may take. Destinations above it are lowered to it.
+   * <p>
+   * If null then the property has no upper bound.
+   */
+  @Nullable
+  public V max;
+
+  /**
+   * How far past its bounds the property may be pulled, as when the spring overshoots or its
+   * destination {@link ObjectTracksGesture tracks a gesture}. The further past a bound the spring
+   * goes, the more the motion is resisted, and the property never goes further than this distance.
+   * <p>
+   * If 0 then the property is clamped to its bounds, and a spring whose destination is a bound
+   * comes to rest as soon as it reaches the bound.
+   */
+  public float rubberBandDistance;
+
+  /**
+   * Whether the spring comes to rest as soon as it reaches its destination, rather than
+   * overshooting it.
+   */
+  public boolean overshootClamping;
+
+  /**
+   * The priority of the spring's motion, one of {@link #PRIORITY_DEFAULT} or {@link
+   * #PRIORITY_LOW}.
+   * <p>
+   * Springs whose destination {@link ObjectTracksGesture tracks a gesture} keep full fidelity
+   * while the gesture is active, regardless of their priority.
+   */
+  public int priority = PRIORITY_DEFAULT;
+
+  /**
+   * The number of frames between writes of the spring's value to the property. 1 writes on every
+   * frame.
+   * <p>
+   * Use a larger interval for properties whose writes are expensive and whose motion is subtle,
+   * such as elevation, which recomputes shadows on every write. The spring's final value is always
+   * written.
+   */
+  public int updateInterval = 1;
+
+  /**
+   * Whether to skip writes that change the property by less than its {@link
+   * ReboundProperty#getVisibleDelta() visible delta} since the last write. The spring's final value
+   * is always written. Ignored for {@link MultiChannelReboundProperty multi-channel properties}.
+   */
+  public boolean skipInvisibleUpdates;
+
   /**
    * Initializes a SpringTo plan for the property with a destination.
    */
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import com.google.android.material.motion.gestures.DragGestureRecognizer;
+import com.google.android.material.motion.gestures.GestureRecognizer;
+import com.google.android.material.motion.runtime.Performer;
+import com.google.android.material.motion.runtime.Plan;
+
+/**
+ * Moves the destination of an object's {@link SpringTo spring} with a drag gesture, so the
+ * property follows the finger with spring smoothing.
+ * <p>
+ * When the gesture begins, the property's current value becomes the origin. While the gesture is
+ * active, the spring's destination is the origin plus the gesture's translation along {@link
+ * #axis}. The destination is updated in place on every touch event, without creating plans.
+ * <p>
+ * The translation is in pixels and is added to the property's value before the value is
+ * converted to a fraction, so the property's values must be distances in pixels. Built-in
+ * properties that are not, such as {@link ReboundProperty#ALPHA} or {@link
+ * ReboundProperty#SCALE}, are rejected with an {@link IllegalArgumentException}.
+ * <p>
+ * When the gesture ends, the spring returns to the destination of the latest SpringTo plan for
+ * the property, including plans added while the gesture was active.
+ */
+public class ObjectTracksGesture<T> extends Plan<T> {
+
+  public static final int AXIS_X = 0;
+  public static final int AXIS_Y = 1;
+
+  public final ReboundProperty<? super T, Float> property;
+  public DragGestureRecognizer gestureRecognizer;
+  /**
+   * The axis of the gesture's translation that is added to the property. Either {@link #AXIS_X}
+   * or {@link #AXIS_Y}.
+   */
+  public int axis;
+
+  /**
+   * Creates a TracksGesture plan.
+   *
+   * @param property The destination of the spring for this property will follow the gesture.
+   * @param gestureRecognizer The gesture recognizer whose translation is tracked between {@link
+   * GestureRecognizer#BEGAN} and {@link GestureRecognizer#RECOGNIZED} or {@link
+   * GestureRecognizer#CANCELLED}.
+   * @param axis Either {@link #AXIS_X} or {@link #AXIS_Y}.
+   */
+  public ObjectTracksGesture(
+    ReboundProperty<? super T, Float> property, DragGestureRecognizer gestureRecognizer, int axis) {
+    this.property = property;
+    this.gestureRecognizer = gestureRecognizer;
+    this.axis = axis;
+  }
+
+  @Override
+  public Class<? extends Performer<T>> getPerformerClass() {
+    return (Class<? extends Performer<T>>) new ReboundPerformer<T>().getClass();
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.graphics.Path;
+import android.graphics.PathMeasure;
+
+import java.util.WeakHashMap;
+
+/**
+ * Positions and tangent angles sampled at evenly spaced distances along a {@link Path}.
+ * <p>
+ * The path is measured once, when the table is built. Looking up a position afterwards
+ * interpolates between the two nearest samples. All contours of the path are joined end to end,
+ * and the target crosses the gap between two contours within one sample.
+ * <p>
+ * The number of samples grows with the path's length, so samples are {@link #SAMPLE_SPACING}
+ * pixels apart. Paths longer than {@code SAMPLE_SPACING * (MAX_SAMPLES - 1)} pixels, about 8000,
+ * are sampled more sparsely, and interpolated positions may cut the path's curves by up to a few
+ * pixels.
+ */
+class PathArcLengthTable {
+
+  /**
+   * The distance between samples, in pixels.
+   */
+  private static final float SAMPLE_SPACING = 2f;
+  private static final int MIN_SAMPLES = 16;
+  private static final int MAX_SAMPLES = 4096;
+
+  private static final WeakHashMap<Path, PathArcLengthTable> cache = new WeakHashMap<>();
+
+  final float length;
+  private final float[] xs;
+  private final float[] ys;
+  private final float[] angles;
+
+  private PathArcLengthTable(Path path) {
+    PathMeasure measure = new PathMeasure(path, false);
+    float totalLength = 0f;
+    do {
+      totalLength += measure.getLength();
+    } while (measure.nextContour());
+    length = totalLength;
+
+    int sampleCount = (int) Math.ceil(length / SAMPLE_SPACING) + 1;
+    sampleCount = Math.max(MIN_SAMPLES, Math.min(MAX_SAMPLES, sampleCount));
+    xs = new float[sampleCount];
+    ys = new float[sampleCount];
+    angles = new float[sampleCount];
+
+    float[] position = new float[2];
+    float[] tangent = new float[2];
+    measure.setPath(path, false);
+    float contourStart = 0f;
+    float contourLength = measure.getLength();
+    for (int i = 0; i < sampleCount; i++) {
+      float distance = length * i / (sampleCount - 1);
+      while (distance > contourStart + contourLength && measure.nextContour()) {
+        contourStart += contourLength;
+        contourLength = measure.getLength();
+      }
+
+      measure.getPosTan(distance - contourStart, position, tangent);
+      xs[i] = position[0];
+      ys[i] = position[1];
+      angles[i] = (float) Math.toDegrees(Math.atan2(tangent[1], tangent[0]));
+      if (i > 0) {
+        // Keep the angles continuous so they can be interpolated.
+        angles[i] = angles[i - 1] + wrapDegrees(angles[i] - angles[i - 1]);
+      }
+    }
+  }
+
+  /**
+   * Returns the table for the path, building it if this is the first time the path is used.
+   * <p>
+   * The table is not rebuilt if the path is modified afterwards.
+   */
+  static synchronized PathArcLengthTable get(Path path) {
+    PathArcLengthTable table = cache.get(path);
+    if (table == null) {
+      table = new PathArcLengthTable(path);
+      cache.put(path, table);
+    }
+    return table;
+  }
+
+  /**
+   * Returns the number of positions sampled along the path.
+   */
+  int getSampleCount() {
+    return xs.length;
+  }
+
+  /**
+   * Writes the position at {@code fraction} of the path's length into {@code position}, and
+   * returns the tangent angle there in degrees. Fractions outside of [0, 1] continue in a straight
+   * line from the path's ends.
+   */
+  float getPosition(float fraction, float[] position) {
+    int last = xs.length - 1;
+    if (fraction <= 0f || fraction >= 1f) {
+      int end = fraction <= 0f ? 0 : last;
+      double radians = Math.toRadians(angles[end]);
+      float overshoot = (fraction <= 0f ? fraction : fraction - 1f) * length;
+      position[0] = xs[end] + (float) Math.cos(radians) * overshoot;
+      position[1] = ys[end] + (float) Math.sin(radians) * overshoot;
+      return angles[end];
+    }
+
+    float index = fraction * last;
+    int i = (int) index;
+    float t = index - i;
+    int j = Math.min(i + 1, last);
+    position[0] = xs[i] + (xs[j] - xs[i]) * t;
+    position[1] = ys[i] + (ys[j] - ys[i]) * t;
+    return angles[i] + (angles[j] - angles[i]) * t;
+  }
+
+  private static float wrapDegrees(float degrees) {
+    while (degrees > 180f) {
+      degrees -= 360f;
+    }
+    while (degrees < -180f) {
+      degrees += 360f;
+    }
+    return degrees;
+  }
+}
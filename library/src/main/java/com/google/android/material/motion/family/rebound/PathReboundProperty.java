@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.graphics.Path;
+import android.support.annotation.Nullable;
+import android.view.View;
+
+import java.util.WeakHashMap;
+
+/**
+ * A {@link ReboundProperty} that moves a target along a {@link Path}. The property's value is the
+ * fraction of the path's length that the target has travelled, so a {@link SpringTo} to 1f springs
+ * the target from the start of the path to its end.
+ * <p>
+ * The path is measured once and the samples are shared by every property that follows the same
+ * path. Samples are 2 pixels apart on paths up to about 8000 pixels long, and sparser on longer
+ * paths. Each frame writes the x, y and, optionally, rotation properties together. The path must
+ * not be modified once it is used by a property.
+ *
+ * @param <T> The type of the target this property acts on.
+ */
+public class PathReboundProperty<T> extends FloatReboundProperty<T> {
+
+  private final PathArcLengthTable table;
+  private final ReboundProperty<? super T, Float> xProperty;
+  private final ReboundProperty<? super T, Float> yProperty;
+  @Nullable
+  private final ReboundProperty<? super T, Float> rotationProperty;
+
+  /**
+   * The fraction last written to each target. Targets that were never written to are at the start
+   * of the path.
+   */
+  private final WeakHashMap<T, float[]> fractions = new WeakHashMap<>();
+  private final float[] position = new float[2];
+
+  /**
+   * Creates a property that writes positions on the path to {@code xProperty} and {@code
+   * yProperty}, and the path's tangent angle in degrees to {@code rotationProperty} if it is not
+   * null.
+   */
+  public PathReboundProperty(
+    Path path,
+    ReboundProperty<? super T, Float> xProperty,
+    ReboundProperty<? super T, Float> yProperty,
+    @Nullable ReboundProperty<? super T, Float> rotationProperty) {
+    super("path(" + xProperty.getName() + ", " + yProperty.getName() + ")");
+    this.table = PathArcLengthTable.get(path);
+    this.xProperty = xProperty;
+    this.yProperty = yProperty;
+    this.rotationProperty = rotationProperty;
+  }
+
+  /**
+   * Creates a property that moves a view's translation along the path, and rotates the view to
+   * follow the path's direction if {@code rotate} is true.
+   */
+  public static PathReboundProperty<View> ofTranslation(Path path, boolean rotate) {
+    return new PathReboundProperty<>(
+      path,
+      ReboundProperty.TRANSLATION_X,
+      ReboundProperty.TRANSLATION_Y,
+      rotate ? ReboundProperty.ROTATION : null);
+  }
+
+  /**
+   * Returns the length of the path.
+   */
+  public float getLength() {
+    return table.length;
+  }
+
+  /**
+   * Returns the fraction of the path's length that is half a pixel.
+   */
+  @Override
+  public float getVisibleDelta() {
+    return table.length > 0f ? 0.5f / table.length : 0f;
+  }
+
+  @Override
+  public float getValue(T target) {
+    float[] fraction = fractions.get(target);
+    return fraction != null ? fraction[0] : 0f;
+  }
+
+  @Override
+  public void setValue(T target, float value) {
+    float[] fraction = fractions.get(target);
+    if (fraction == null) {
+      fraction = new float[1];
+      fractions.put(target, fraction);
+    }
+    fraction[0] = value;
+
+    float angle = table.getPosition(value, position);
+    xProperty.setFraction(target, position[0]);
+    yProperty.setFraction(target, position[1]);
+    if (rotationProperty != null) {
+      rotationProperty.setFraction(target, angle);
+    }
+  }
+}
@@ -0,0 +1,412 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.support.v7.widget.RecyclerView.ViewHolder;
+import android.support.v7.widget.SimpleItemAnimator;
+import android.view.View;
+
+import com.facebook.rebound.BaseSpringSystem;
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringConfig;
+import com.facebook.rebound.SpringSystemListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link android.support.v7.widget.RecyclerView.ItemAnimator} that animates item additions,
+ * removals, moves and changes with Rebound springs.
+ * <p>
+ * Springs are kept in a pool and reused across view holders, so animating a large diff does not
+ * create a spring per item. The springs of all running animations are written to their items in a
+ * single pass per frame, after the springs are integrated. The pooled springs belong to the spring
+ * system shared by all rebound performers, so call {@link #release()} once the animator is no
+ * longer used.
+ * <p>
+ * The RecyclerView support library is not a dependency of this library. Apps that use this class
+ * must depend on it.
+ */
+public class ReboundItemAnimator extends SimpleItemAnimator {
+
+  private static final int ADD = 0;
+  private static final int REMOVE = 1;
+  private static final int MOVE = 2;
+  private static final int CHANGE_OLD = 3;
+  private static final int CHANGE_NEW = 4;
+
+  private final SpringConfig springConfig =
+    new SpringConfig(SpringTo.DEFAULT_TENSION, SpringTo.DEFAULT_FRICTION);
+
+  private final List<ItemAnimation> pendingAnimations = new ArrayList<>();
+  private final List<ItemAnimation> runningAnimations = new ArrayList<>();
+  @VisibleForTesting
+  final List<ItemAnimation> pool = new ArrayList<>();
+
+  private boolean frameListenerAdded;
+
+  /**
+   * Sets the tension and friction of the springs used by future animations. The settle time of
+   * the springs is scaled by the {@link ReboundPerformer#setMotionPolicy(MotionPolicy) motion
+   * policy}.
+   */
+  public void setSpringConfig(SpringConfig config) {
+    springConfig.tension = config.tension;
+    springConfig.friction = config.friction;
+  }
+
+  @Override
+  public boolean animateRemove(ViewHolder holder) {
+    ItemAnimation animation = obtain(holder, REMOVE);
+    animation.fromAlpha = holder.itemView.getAlpha();
+    animation.toAlpha = 0f;
+    return true;
+  }
+
+  @Override
+  public boolean animateAdd(ViewHolder holder) {
+    holder.itemView.setAlpha(0f);
+    ItemAnimation animation = obtain(holder, ADD);
+    animation.fromAlpha = 0f;
+    animation.toAlpha = 1f;
+    return true;
+  }
+
+  @Override
+  public boolean animateMove(ViewHolder holder, int fromX, int fromY, int toX, int toY) {
+    View view = holder.itemView;
+    fromX += (int) view.getTranslationX();
+    fromY += (int) view.getTranslationY();
+    int deltaX = toX - fromX;
+    int deltaY = toY - fromY;
+    if (deltaX == 0 && deltaY == 0) {
+      dispatchMoveFinished(holder);
+      return false;
+    }
+
+    // The item is already laid out at its destination. Start from its previous position.
+    view.setTranslationX(-deltaX);
+    view.setTranslationY(-deltaY);
+    ItemAnimation animation = obtain(holder, MOVE);
+    animation.fromTranslationX = -deltaX;
+    animation.fromTranslationY = -deltaY;
+    animation.fromAlpha = animation.toAlpha = view.getAlpha();
+    return true;
+  }
+
+  @Override
+  public boolean animateChange(
+    ViewHolder oldHolder, ViewHolder newHolder, int fromX, int fromY, int toX, int toY) {
+    if (oldHolder == newHolder) {
+      return animateMove(oldHolder, fromX, fromY, toX, toY);
+    }
+
+    View oldView = oldHolder.itemView;
+    float oldTranslationX = oldView.getTranslationX();
+    float oldTranslationY = oldView.getTranslationY();
+    float deltaX = toX - fromX - oldTranslationX;
+    float deltaY = toY - fromY - oldTranslationY;
+
+    ItemAnimation oldAnimation = obtain(oldHolder, CHANGE_OLD);
+    oldAnimation.fromTranslationX = oldTranslationX;
+    oldAnimation.fromTranslationY = oldTranslationY;
+    oldAnimation.toTranslationX = toX - fromX;
+    oldAnimation.toTranslationY = toY - fromY;
+    oldAnimation.fromAlpha = oldView.getAlpha();
+    oldAnimation.toAlpha = 0f;
+
+    if (newHolder != null) {
+      View newView = newHolder.itemView;
+      newView.setTranslationX(-deltaX);
+      newView.setTranslationY(-deltaY);
+      newView.setAlpha(0f);
+
+      ItemAnimation newAnimation = obtain(newHolder, CHANGE_NEW);
+      newAnimation.fromTranslationX = -deltaX;
+      newAnimation.fromTranslationY = -deltaY;
+      newAnimation.fromAlpha = 0f;
+      newAnimation.toAlpha = 1f;
+    }
+    return true;
+  }
+
+  @Override
+  public void runPendingAnimations() {
+    if (pendingAnimations.isEmpty()) {
+      return;
+    }
+
+    float durationScale = ReboundPerformer.springSystem.motionPolicy.getDurationScale();
+    if (durationScale == 0f) {
+      // Motion is removed. Items jump to their final state.
+      endAnimations();
+      return;
+    }
+
+    for (int i = 0, count = pendingAnimations.size(); i < count; i++) {
+      ItemAnimation animation = pendingAnimations.get(i);
+      dispatchStarting(animation);
+      runningAnimations.add(animation);
+
+      Spring spring = animation.spring;
+      spring.getSpringConfig().tension = springConfig.tension / (durationScale * durationScale);
+      spring.getSpringConfig().friction = springConfig.friction / durationScale;
+      boolean setAtRest = true;
+      //noinspection ConstantConditions
+      spring.setCurrentValue(0, setAtRest);
+      spring.setEndValue(1);
+    }
+    pendingAnimations.clear();
+
+    if (!frameListenerAdded) {
+      ReboundPerformer.springSystem.addListener(frameListener);
+      frameListenerAdded = true;
+    }
+  }
+
+  /**
+   * Ends the animations of a view holder that is being recycled. Call this from {@link
+   * android.support.v7.widget.RecyclerView.Adapter#onViewRecycled(ViewHolder)} so the holder's
+   * spring returns to the pool before the holder is reused.
+   */
+  public void onViewRecycled(ViewHolder holder) {
+    endAnimation(holder);
+  }
+
+  /**
+   * Ends all animations and destroys the pooled springs. Call this when the RecyclerView that uses
+   * this animator is detached, for example from {@link
+   * android.support.v7.widget.RecyclerView.Adapter#onDetachedFromRecyclerView}. The animator
+   * creates new springs if it is used again.
+   */
+  public void release() {
+    endAnimations();
+    for (int i = 0, count = pool.size(); i < count; i++) {
+      pool.get(i).spring.destroy();
+    }
+    pool.clear();
+  }
+
+  @Override
+  public void endAnimation(ViewHolder item) {
+    for (int i = pendingAnimations.size() - 1; i >= 0; i--) {
+      ItemAnimation animation = pendingAnimations.get(i);
+      if (animation.holder == item) {
+        pendingAnimations.remove(i);
+        dispatchStarting(animation);
+        finish(animation);
+      }
+    }
+    for (int i = runningAnimations.size() - 1; i >= 0; i--) {
+      ItemAnimation animation = runningAnimations.get(i);
+      if (animation.holder == item) {
+        runningAnimations.remove(i);
+        finish(animation);
+      }
+    }
+    dispatchFinishedWhenDone();
+  }
+
+  @Override
+  public void endAnimations() {
+    for (int i = pendingAnimations.size() - 1; i >= 0; i--) {
+      ItemAnimation animation = pendingAnimations.remove(i);
+      dispatchStarting(animation);
+      finish(animation);
+    }
+    for (int i = runningAnimations.size() - 1; i >= 0; i--) {
+      finish(runningAnimations.remove(i));
+    }
+    dispatchFinishedWhenDone();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return !pendingAnimations.isEmpty() || !runningAnimations.isEmpty();
+  }
+
+  private ItemAnimation obtain(ViewHolder holder, int type) {
+    // A holder can only have one animation at a time.
+    if (hasAnimation(holder)) {
+      endAnimation(holder);
+    }
+
+    ItemAnimation animation;
+    if (pool.isEmpty()) {
+      animation = new ItemAnimation(ReboundPerformer.springSystem.createSpring());
+    } else {
+      animation = pool.remove(pool.size() - 1);
+    }
+
+    animation.holder = holder;
+    animation.type = type;
+    animation.fromTranslationX = 0f;
+    animation.fromTranslationY = 0f;
+    animation.toTranslationX = 0f;
+    animation.toTranslationY = 0f;
+    pendingAnimations.add(animation);
+    return animation;
+  }
+
+  private boolean hasAnimation(ViewHolder holder) {
+    for (int i = 0, count = pendingAnimations.size(); i < count; i++) {
+      if (pendingAnimations.get(i).holder == holder) {
+        return true;
+      }
+    }
+    for (int i = 0, count = runningAnimations.size(); i < count; i++) {
+      if (runningAnimations.get(i).holder == holder) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Writes the end state of an animation, notifies the RecyclerView, and returns the animation and
+   * its spring to the pool.
+   */
+  private void finish(ItemAnimation animation) {
+    Spring spring = animation.spring;
+    boolean setAtRest = true;
+    //noinspection ConstantConditions
+    spring.setCurrentValue(1, setAtRest);
+    animation.write(1f);
+
+    View view = animation.holder.itemView;
+    switch (animation.type) {
+      case ADD:
+        dispatchAddFinished(animation.holder);
+        break;
+      case REMOVE:
+        // The view may be reused for another item.
+        view.setAlpha(1f);
+        dispatchRemoveFinished(animation.holder);
+        break;
+      case MOVE:
+        dispatchMoveFinished(animation.holder);
+        break;
+      case CHANGE_OLD:
+        view.setAlpha(1f);
+        view.setTranslationX(0f);
+        view.setTranslationY(0f);
+        dispatchChangeFinished(animation.holder, true);
+        break;
+      case CHANGE_NEW:
+        dispatchChangeFinished(animation.holder, false);
+        break;
+    }
+
+    animation.holder = null;
+    pool.add(animation);
+  }
+
+  private void dispatchStarting(ItemAnimation animation) {
+    switch (animation.type) {
+      case ADD:
+        dispatchAddStarting(animation.holder);
+        break;
+      case REMOVE:
+        dispatchRemoveStarting(animation.holder);
+        break;
+      case MOVE:
+        dispatchMoveStarting(animation.holder);
+        break;
+      case CHANGE_OLD:
+        dispatchChangeStarting(animation.holder, true);
+        break;
+      case CHANGE_NEW:
+        dispatchChangeStarting(animation.holder, false);
+        break;
+    }
+  }
+
+  private void dispatchFinishedWhenDone() {
+    if (!isRunning()) {
+      if (frameListenerAdded) {
+        ReboundPerformer.springSystem.removeListener(frameListener);
+        frameListenerAdded = false;
+      }
+      dispatchAnimationsFinished();
+    }
+  }
+
+  /**
+   * Writes every running animation once per frame, after all springs are integrated.
+   */
+  private final SpringSystemListener frameListener = new SpringSystemListener() {
+    @Override
+    public void onBeforeIntegrate(BaseSpringSystem springSystem) {
+    }
+
+    @Override
+    public void onAfterIntegrate(BaseSpringSystem springSystem) {
+      boolean finished = false;
+      for (int i = runningAnimations.size() - 1; i >= 0; i--) {
+        if (i >= runningAnimations.size()) {
+          // Finish callbacks ended other animations.
+          continue;
+        }
+        ItemAnimation animation = runningAnimations.get(i);
+        if (animation.spring.isAtRest()) {
+          runningAnimations.remove(i);
+          finish(animation);
+          finished = true;
+        } else {
+          animation.write((float) animation.spring.getCurrentValue());
+        }
+      }
+
+      if (finished) {
+        dispatchFinishedWhenDone();
+      }
+    }
+  };
+
+  /**
+   * The state of one item's animation. Instances are pooled together with their spring.
+   */
+  @VisibleForTesting
+  static class ItemAnimation {
+
+    final Spring spring;
+
+    @Nullable
+    ViewHolder holder;
+    int type;
+    float fromTranslationX;
+    float fromTranslationY;
+    float toTranslationX;
+    float toTranslationY;
+    float fromAlpha;
+    float toAlpha;
+
+    private ItemAnimation(Spring spring) {
+      this.spring = spring;
+    }
+
+    void write(float progress) {
+      View view = holder.itemView;
+      view.setTranslationX(fromTranslationX + (toTranslationX - fromTranslationX) * progress);
+      view.setTranslationY(fromTranslationY + (toTranslationY - fromTranslationY) * progress);
+
+      float alpha = fromAlpha + (toAlpha - fromAlpha) * progress;
+      view.setAlpha(alpha < 0f ? 0f : alpha > 1f ? 1f : alpha);
+    }
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.app.Activity;
+import android.app.Application;
+import android.app.Application.ActivityLifecycleCallbacks;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.util.Log;
+
+import com.google.android.material.motion.family.rebound.ReboundSpringSystem.PerformerReference;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports {@link ReboundPerformer rebound performers} whose springs are still registered with the
+ * shared spring system after the activity of their target view was destroyed.
+ * <p>
+ * Such a performer is kept alive by something other than its springs, typically a {@link
+ * com.google.android.material.motion.runtime.MotionRuntime runtime} held in a static field, and
+ * keeps its target, the target's activity and its springs alive with it.
+ * <p>
+ * The detector checks for leaks a few seconds after an activity is destroyed, and runs the garbage
+ * collector before each check. Only install it in debug builds.
+ */
+public final class ReboundLeakDetector {
+
+  /**
+   * The time after an activity is destroyed before its performers are checked, in milliseconds.
+   */
+  public static final long CHECK_DELAY_MILLIS = 5000;
+
+  private static final String TAG = "ReboundLeakDetector";
+
+  /**
+   * Notified of leaked performers.
+   */
+  public interface LeakListener {
+
+    /**
+     * Called when a performer whose target is in a destroyed activity is still alive.
+     *
+     * @param activity The destroyed activity.
+     * @param performer The performer that keeps the activity alive.
+     * @param springCount The number of springs of the performer that are still registered.
+     */
+    void onPerformerLeaked(Activity activity, ReboundPerformer<?> performer, int springCount);
+  }
+
+  /**
+   * Logs leaked performers as warnings.
+   */
+  public static final LeakListener LOG_LISTENER = new LeakListener() {
+    @Override
+    public void onPerformerLeaked(
+      Activity activity, ReboundPerformer<?> performer, int springCount) {
+      Log.w(TAG, performer + " and its " + springCount + " springs are still registered after "
+        + activity + " was destroyed.");
+    }
+  };
+
+  private ReboundLeakDetector() {
+  }
+
+  /**
+   * Logs the performers leaked by every activity of the application.
+   */
+  public static void install(Application application) {
+    install(application, LOG_LISTENER);
+  }
+
+  /**
+   * Reports the performers leaked by every activity of the application to the listener.
+   */
+  public static void install(Application application, final LeakListener listener) {
+    final Handler handler = new Handler(Looper.getMainLooper());
+    application.registerActivityLifecycleCallbacks(new ActivityLifecycleCallbacks() {
+      @Override
+      public void onActivityDestroyed(Activity activity) {
+        final WeakReference<Activity> reference = new WeakReference<>(activity);
+        handler.postDelayed(new Runnable() {
+          @Override
+          public void run() {
+            Runtime.getRuntime().gc();
+            Activity activity = reference.get();
+            if (activity != null) {
+              check(activity, listener);
+            }
+          }
+        }, CHECK_DELAY_MILLIS);
+      }
+
+      @Override
+      public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+      }
+
+      @Override
+      public void onActivityStarted(Activity activity) {
+      }
+
+      @Override
+      public void onActivityResumed(Activity activity) {
+      }
+
+      @Override
+      public void onActivityPaused(Activity activity) {
+      }
+
+      @Override
+      public void onActivityStopped(Activity activity) {
+      }
+
+      @Override
+      public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+      }
+    });
+  }
+
+  /**
+   * Reports the live performers whose target is in the destroyed activity.
+   *
+   * @return The number of leaked performers.
+   */
+  @VisibleForTesting
+  static int check(Activity activity, LeakListener listener) {
+    ReboundSpringSystem springSystem = ReboundPerformer.springSystem;
+    springSystem.destroyCollectedSprings();
+
+    // Copy the references, since the listener may add or collect performers.
+    List<PerformerReference> references = new ArrayList<>(springSystem.performerReferences);
+    int leaks = 0;
+    for (int i = 0, count = references.size(); i < count; i++) {
+      PerformerReference reference = references.get(i);
+      ReboundPerformer<?> performer = reference.get();
+      if (performer != null && performer.isTargetIn(activity)) {
+        listener.onPerformerLeaked(activity, performer, reference.springs.size());
+        leaks++;
+      }
+    }
+    return leaks;
+  }
+
+  /**
+   * Returns the activity of the context, or null if the context does not belong to an activity.
+   */
+  @Nullable
+  static Activity findActivity(Context context) {
+    while (context instanceof ContextWrapper) {
+      if (context instanceof Activity) {
+        return (Activity) context;
+      }
+      context = ((ContextWrapper) context).getBaseContext();
+    }
+    return null;
+  }
+}
@@ -15,26 +15,38 @@
  */
 package com.google.android.material.motion.family.rebound;
 
+import android.app.Activity;
+import android.support.annotation.Nullable;
 import android.support.annotation.VisibleForTesting;
 import android.support.v4.util.SimpleArrayMap;
+import android.view.View;
 
 import com.facebook.rebound.BaseSpringSystem;
 import com.facebook.rebound.SimpleSpringListener;
 import com.facebook.rebound.Spring;
-import com.facebook.rebound.SpringSystem;
+import com.facebook.rebound.SpringConfig;
+import com.facebook.rebound.SpringSystemListener;
 import com.google.android.material.motion.family.rebound.ReboundProperty.TypeConverterCompat;
+import com.google.android.material.motion.gestures.DragGestureRecognizer;
 import com.google.android.material.motion.gestures.GestureRecognizer;
 import com.google.android.material.motion.gestures.GestureRecognizer.GestureStateChangeListener;
 import com.google.android.material.motion.runtime.Performer;
 import com.google.android.material.motion.runtime.PerformerFeatures.ContinuousPerforming;
 import com.google.android.material.motion.runtime.Plan;
 
+import java.lang.ref.WeakReference;
 import java.util.HashSet;
 import java.util.Set;
 
 /**
  * A performer that instantiates and manages {@link Spring Rebound springs}. A separate spring
- * instance is used for every animating {@link ReboundProperty property}.
+ * instance is used for every animating {@link ReboundProperty property}, and for every property
+ * animated by an {@link ObjectGroupSpringTo group plan}.
+ * <p>
+ * While any of its springs is moving, a performer is kept alive by the shared spring system, so a
+ * {@link com.google.android.material.motion.runtime.MotionRuntime runtime} that nothing else
+ * holds still finishes its animations. Once idle, the performer is only kept alive by its
+ * runtime, and its springs are destroyed after it is collected.
  */
 public class ReboundPerformer<T> extends Performer<T> implements ContinuousPerforming {
 
@@ -43,9 +55,13 @@ public class ReboundPerformer<T> extends Performer<T> implements ContinuousPerfo
    * same integration loop.
    */
   @VisibleForTesting
-  static BaseSpringSystem springSystem = SpringSystem.create();
+  static ReboundSpringSystem springSystem = ReboundSpringSystem.create();
 
   private static final double EPSILON = 0.01f;
+  /**
+   * The resistance of rubber-banding. Matches the feel of scroll views that bounce at their edges.
+   */
+  private static final float RUBBER_BAND_COEFFICIENT = 0.55f;
 
   @VisibleForTesting
   final SimpleArrayMap<ReboundProperty<? super T, ?>, Spring> springs = new SimpleArrayMap<>();
@@ -55,9 +71,90 @@ public class ReboundPerformer<T> extends Performer<T> implements ContinuousPerfo
     new SimpleArrayMap<>();
 
   private final SimpleArrayMap<Spring, Double> pausedEndFractions = new SimpleArrayMap<>();
+  /**
+   * Gestures that move the destination of a property's spring. Only the last-registered
+   * TracksGesture plan for each property is kept.
+   */
+  private final SimpleArrayMap<ReboundProperty<? super T, ?>, GestureTracking> trackings =
+    new SimpleArrayMap<>();
+  /**
+   * Flings that have not handed off to their spring yet, keyed by property.
+   */
+  @VisibleForTesting
+  final SimpleArrayMap<ReboundProperty<? super T, ?>, FlingDecay> flings = new SimpleArrayMap<>();
+  @VisibleForTesting
+  final SimpleArrayMap<Spring, SpringWriter> writers = new SimpleArrayMap<>();
+  @VisibleForTesting
+  final SimpleArrayMap<ReboundProperty<?, ?>, SpringGroup<?>> groups = new SimpleArrayMap<>();
+  @VisibleForTesting
+  final SimpleArrayMap<ReboundProperty<?, ?>, ChainedSprings<?>> chains = new SimpleArrayMap<>();
 
-  private final SimpleArrayMap<Spring, IsActiveToken> tokens = new SimpleArrayMap<>();
   private IsActiveTokenGenerator isActiveTokenGenerator;
+  /**
+   * The springs that were activated and have not entered resting state yet.
+   */
+  @VisibleForTesting
+  final SimpleArrayMap<Spring, Boolean> activeSprings = new SimpleArrayMap<>();
+  /**
+   * Whether delayed plans or staggered groups are waiting for frames.
+   */
+  private boolean waitingForFrames;
+  /**
+   * A single token for all of the performer's activity. It is generated when the first spring
+   * activates and terminated when the last spring comes to rest.
+   */
+  @Nullable
+  private IsActiveToken token;
+
+  /**
+   * SpringTo plans waiting for the next tick of the {@link #springSystem} or for their {@link
+   * ObjectSpringTo#delay delay}. Scheduled like the plans of a {@link HeadlessPerformer}.
+   */
+  @VisibleForTesting
+  final SpringToQueue<ReboundProperty<? super T, ?>, ObjectSpringTo<T, ?>> springTos =
+    new SpringToQueue<>();
+  private boolean frameListenerAdded;
+
+  /**
+   * Snapshots with state for properties that have no spring yet, keyed by property name.
+   */
+  private final SimpleArrayMap<String, ReboundSnapshot> pendingRestores = new SimpleArrayMap<>();
+
+  /**
+   * The springs of this performer, which the {@link #springSystem} destroys once this performer is
+   * collected. Listeners are added to springs through {@link WeakSpringListener}, so the shared
+   * spring system only keeps this performer and its target alive while the performer is active.
+   */
+  @VisibleForTesting
+  @Nullable
+  ReboundSpringSystem.PerformerReference reference;
+
+  /**
+   * Installs a recorder for the activity of all rebound performers, or removes it if null.
+   */
+  public static void setRecorder(@Nullable ReboundRecorder recorder) {
+    springSystem.recorder = recorder;
+  }
+
+  /**
+   * Installs the policy that decides how much motion all rebound performers produce, or restores
+   * {@link MotionPolicy#FULL_MOTION full motion} if null. Springs that are already moving keep
+   * their motion until they are next started.
+   *
+   * @see MotionPolicy#fromSystem(android.content.Context)
+   */
+  public static void setMotionPolicy(@Nullable MotionPolicy motionPolicy) {
+    springSystem.motionPolicy = motionPolicy != null ? motionPolicy : MotionPolicy.FULL_MOTION;
+  }
+
+  /**
+   * Installs a governor that lowers the fidelity of {@link ObjectSpringTo#PRIORITY_LOW
+   * low-priority} springs of all rebound performers while frames are missed, or removes it if
+   * null.
+   */
+  public static void setFrameGovernor(@Nullable FrameGovernor governor) {
+    springSystem.governor = governor;
+  }
 
   @Override
   public void setIsActiveTokenGenerator(IsActiveTokenGenerator isActiveTokenGenerator) {
@@ -68,24 +165,197 @@ public class ReboundPerformer<T> extends Performer<T> implements ContinuousPerfo
   public void addPlan(Plan<T> plan) {
     if (plan instanceof ObjectSpringTo) {
       addSpringTo((ObjectSpringTo<T, ?>) plan);
+    } else if (plan instanceof ObjectChainSpringTo) {
+      addChainSpringTo((ObjectChainSpringTo<?, ?>) plan);
+    } else if (plan instanceof ObjectGroupSpringTo) {
+      addGroupSpringTo((ObjectGroupSpringTo<?, ?>) plan);
     } else if (plan instanceof ObjectPausesSpring) {
       addPausesSpring((ObjectPausesSpring<T>) plan);
+    } else if (plan instanceof ObjectTracksGesture) {
+      addTracksGesture((ObjectTracksGesture<T>) plan);
+    } else if (plan instanceof ObjectFlingSpringTo) {
+      addFlingSpringTo((ObjectFlingSpringTo<T>) plan);
+    } else if (plan instanceof ObjectSnapshotsSprings) {
+      addSnapshotsSprings((ObjectSnapshotsSprings<T>) plan);
     } else {
       throw new IllegalArgumentException("Plan type not supported for " + plan);
     }
   }
 
+  /**
+   * Returns the number of SpringTo plans that were replaced by a later plan for the same property
+   * before they were applied.
+   */
+  public int getCoalescedPlanCount() {
+    return springTos.getCoalescedPlanCount();
+  }
+
   private void addSpringTo(ObjectSpringTo<T, ?> plan) {
-    Spring spring = getSpring(plan.property);
+    // The spring is created immediately so PausesSpring plans can find it.
+    getSpring(plan.property);
+
+    double delay = plan.delay * springSystem.motionPolicy.getDurationScale();
+    springTos.add(plan.property, plan, delay, springSystem.getFrameTimeMillis());
+    if (delay > 0) {
+      updateWaitingForFrames();
+    }
+    scheduleFrame();
+  }
+
+  /**
+   * Ensures that {@link #frameListener} is called on the next frame.
+   */
+  private void scheduleFrame() {
+    if (!frameListenerAdded) {
+      springSystem.addListener(frameListener);
+      frameListenerAdded = true;
+    }
+    springSystem.requestFrame();
+  }
+
+  private boolean hasScheduledWork() {
+    if (!springTos.isEmpty() || !flings.isEmpty()) {
+      return true;
+    }
+    for (int i = 0, count = groups.size(); i < count; i++) {
+      if (groups.valueAt(i).isStaggering()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Does the performer's work that is scheduled in the integration loop rather than driven by a
+   * spring: starting delayed plans, applying coalesced plans, writing staggered groups and
+   * decaying flings.
+   */
+  private final SpringSystemListener frameListener = new SpringSystemListener() {
+    @Override
+    public void onBeforeIntegrate(BaseSpringSystem system) {
+      springTos.onFrame(springSystem.getFrameTimeMillis(), springToApplier);
+
+      for (int i = 0, count = groups.size(); i < count; i++) {
+        SpringGroup<?> group = groups.valueAt(i);
+        if (group.isStaggering()) {
+          group.onFrame();
+        }
+      }
+
+      for (int i = flings.size() - 1; i >= 0; i--) {
+        if (onFlingFrame(springs.get(flings.keyAt(i)), flings.keyAt(i), flings.valueAt(i))) {
+          flings.removeAt(i);
+        }
+      }
+
+      if (!hasScheduledWork()) {
+        springSystem.removeListener(this);
+        frameListenerAdded = false;
+      }
+      updateWaitingForFrames();
+    }
+
+    @Override
+    public void onAfterIntegrate(BaseSpringSystem system) {
+      if (frameListenerAdded) {
+        springSystem.requestFrame();
+      }
+    }
+  };
+
+  private void updateWaitingForFrames() {
+    boolean waiting = springTos.hasDelayedPlans() || !flings.isEmpty();
+    for (int i = 0, count = groups.size(); !waiting && i < count; i++) {
+      waiting = groups.valueAt(i).isStaggering();
+    }
+
+    waitingForFrames = waiting;
+    updateToken();
+  }
 
+  /**
+   * Generates or terminates the performer's token when it transitions between idle and active.
+   */
+  private void updateToken() {
+    boolean active = waitingForFrames || !activeSprings.isEmpty();
+    if (active && token == null) {
+      token = isActiveTokenGenerator.generate();
+      // Keeps this performer alive until it is idle, even if nothing else holds it.
+      getReference().activePerformer = this;
+    } else if (!active && token != null) {
+      token.terminate();
+      token = null;
+      getReference().activePerformer = null;
+    }
+  }
+
+  private ReboundSpringSystem.PerformerReference getReference() {
+    if (reference == null) {
+      reference = springSystem.register(this);
+    }
+    return reference;
+  }
+
+  private final SpringToQueue.Applier<ObjectSpringTo<T, ?>> springToApplier =
+    new SpringToQueue.Applier<ObjectSpringTo<T, ?>>() {
+      @Override
+      public void apply(ObjectSpringTo<T, ?> plan) {
+        applySpringTo(plan);
+      }
+    };
+
+  private void applySpringTo(ObjectSpringTo<T, ?> plan) {
+    Spring spring = springs.get(plan.property);
+    flings.remove(plan.property);
+
+    SpringWriter writer = writers.get(spring);
+    writer.exclusive = plan.exclusive;
+    writer.priority = plan.priority;
+    writer.updateInterval = Math.max(1, plan.updateInterval);
+    writer.skipInvisibleUpdates = plan.skipInvisibleUpdates;
     if (plan.configuration != null) {
-      spring.getSpringConfig().tension = plan.configuration.tension;
-      spring.getSpringConfig().friction = plan.configuration.friction;
+      writer.configuration.tension = plan.configuration.tension;
+      writer.configuration.friction = plan.configuration.friction;
+    }
+
+    if (writer.channels != null) {
+      MultiChannelReboundProperty channelProperty = (MultiChannelReboundProperty) plan.property;
+      //noinspection unchecked
+      channelProperty.toChannels(plan.destination, writer.destinationChannels);
+      record(spring, ReboundRecorder.PLAN, 0, 1f);
+      startSpring(spring, plan.property, 1f);
+      return;
     }
 
     TypeConverterCompat converter = plan.property.converter;
     //noinspection unchecked
     float destinationFraction = converter.convert(plan.destination);
+    record(spring, ReboundRecorder.PLAN, 0, destinationFraction);
+
+    //noinspection unchecked
+    writer.minFraction = plan.min != null ? converter.convert(plan.min) : Float.NEGATIVE_INFINITY;
+    //noinspection unchecked
+    writer.maxFraction = plan.max != null ? converter.convert(plan.max) : Float.POSITIVE_INFINITY;
+    writer.rubberBandDistance = plan.rubberBandDistance;
+    destinationFraction =
+      Math.max(writer.minFraction, Math.min(writer.maxFraction, destinationFraction));
+
+    // A clamped spring whose destination is a bound can stop as soon as it reaches the bound.
+    boolean atBound =
+      destinationFraction == writer.minFraction || destinationFraction == writer.maxFraction;
+    boolean overshootClamping =
+      plan.overshootClamping || (atBound && plan.rubberBandDistance <= 0);
+    if (spring.isOvershootClampingEnabled() != overshootClamping) {
+      record(spring, ReboundRecorder.CLAMP, overshootClamping ? 1 : 0, 0f);
+      spring.setOvershootClampingEnabled(overshootClamping);
+    }
+
+    GestureTracking tracking = trackings.get(plan.property);
+    if (tracking != null && tracking.active) {
+      // The spring follows the gesture until it ends.
+      tracking.releaseEndFraction = destinationFraction;
+      return;
+    }
     startSpring(spring, plan.property, destinationFraction);
   }
 
@@ -93,52 +363,178 @@ public class ReboundPerformer<T> extends Performer<T> implements ContinuousPerfo
     Spring spring = springs.get(property);
 
     if (spring == null) {
-      spring = springSystem.createSpring();
-      spring.getSpringConfig().tension = SpringTo.DEFAULT_TENSION;
-      spring.getSpringConfig().friction = SpringTo.DEFAULT_FRICTION;
-      spring.addListener(lifecycleListener);
-      spring.addListener(new SimpleSpringListener() {
-        @Override
-        public void onSpringUpdate(Spring spring) {
-          float fraction = (float) spring.getCurrentValue();
-          property.setFraction(getTarget(), fraction);
-        }
-      });
+      spring = createSpring();
+      SpringWriter writer = new SpringWriter(property);
+      spring.addListener(new WeakSpringListener(writer));
       springs.put(property, spring);
+      writers.put(spring, writer);
+
+      ReboundSnapshot snapshot = pendingRestores.remove(property.getName());
+      int index = snapshot != null ? indexOf(snapshot.names, property.getName()) : -1;
+      if (index != -1) {
+        restoreSpring(spring, property, snapshot, index);
+      }
     }
 
     return spring;
   }
 
   private void startSpring(Spring spring, ReboundProperty<? super T, ?> property, double destinationFraction) {
-    float currentFraction = property.getFraction(getTarget());
-    if (!eq(spring.getCurrentValue(), currentFraction, EPSILON)) {
+    SpringWriter writer = writers.get(spring);
+    writer.flush(spring);
+    if (writer.channels != null) {
+      writer.retargetChannels(spring);
+    } else if (!writer.ownsProperty()) {
+      float currentFraction = property.getFraction(getTarget());
+      // Past its bounds, the property holds the constrained value rather than the spring's.
+      float writtenFraction = writer.constrain((float) spring.getCurrentValue());
+      if (!eq(writtenFraction, currentFraction, EPSILON)) {
+        // Seed the spring with the value it writes as the current one, so it does not jump.
+        float seedFraction = writer.unconstrain(currentFraction);
+        boolean setAtRest = true;
+        record(spring, ReboundRecorder.RESET, 0, seedFraction);
+        //noinspection ConstantConditions
+        spring.setCurrentValue(seedFraction, setAtRest);
+      }
+      writer.lastWrittenFraction = currentFraction;
+      writer.markInSync();
+    }
+
+    setEndFraction(spring, property, destinationFraction);
+  }
+
+  /**
+   * Pulls the spring towards the destination, or holds the destination until the gestures that
+   * pause the spring end. Applies the {@link MotionPolicy motion policy}: the spring jumps to the
+   * destination if motion is removed.
+   */
+  private void setEndFraction(
+    Spring spring, ReboundProperty<? super T, ?> property, double destinationFraction) {
+    if (isPropertyPaused(property)) {
+      pausedEndFractions.put(spring, destinationFraction);
+      return;
+    }
+
+    SpringWriter writer = writers.get(spring);
+    float durationScale = springSystem.motionPolicy.getDurationScale();
+    if (durationScale == 0f || writer.shouldSnap()) {
+      // Comes to rest without being integrated. An active spring reports that it is at rest on
+      // the next frame, which terminates the performer's token.
       boolean setAtRest = true;
+      record(spring, ReboundRecorder.RESET, 0, (float) destinationFraction);
       //noinspection ConstantConditions
-      spring.setCurrentValue(currentFraction, setAtRest);
+      spring.setCurrentValue(destinationFraction, setAtRest);
+      return;
+    }
+
+    // Scaling the natural frequency scales the settle time and keeps the damping ratio.
+    SpringConfig requested = writer.configuration;
+    SpringConfig config = spring.getSpringConfig();
+    double tension = requested.tension / (durationScale * durationScale);
+    double friction = requested.friction / durationScale;
+    if (config.tension != tension || config.friction != friction) {
+      config.tension = tension;
+      config.friction = friction;
+      recordConfig(spring);
     }
 
+    record(spring, ReboundRecorder.END, 0, (float) destinationFraction);
+    spring.setEndValue(destinationFraction);
+  }
+
+  private <E> void addGroupSpringTo(ObjectGroupSpringTo<E, ?> plan) {
+    checkSingleChannel(plan.property, plan);
+
     //noinspection unchecked
-    if (!isPropertyPaused(property)) {
-      spring.setEndValue(destinationFraction);
-    } else {
-      pausedEndFractions.put(spring, destinationFraction);
+    SpringGroup<E> group = (SpringGroup<E>) groups.get(plan.property);
+    if (group == null) {
+      Spring spring = createSpring();
+      group = new SpringGroup<>(springSystem, spring, plan.property);
+      spring.addListener(new WeakSpringListener(group));
+      groups.put(plan.property, group);
     }
+
+    if (plan.configuration != null) {
+      group.spring.getSpringConfig().tension = plan.configuration.tension;
+      group.spring.getSpringConfig().friction = plan.configuration.friction;
+    }
+
+    TypeConverterCompat converter = plan.property.converter;
+    //noinspection unchecked
+    float destinationFraction = converter.convert(plan.destination);
+    group.start(plan.targets, destinationFraction, plan.stagger);
+
+    if (group.isStaggering()) {
+      scheduleFrame();
+      updateWaitingForFrames();
+    }
+  }
+
+  private <E> void addChainSpringTo(ObjectChainSpringTo<E, ?> plan) {
+    checkSingleChannel(plan.property, plan);
+
+    //noinspection unchecked
+    ChainedSprings<E> chain = (ChainedSprings<E>) chains.get(plan.property);
+    if (chain == null) {
+      chain = new ChainedSprings<>(plan.property, springFactory);
+      chains.put(plan.property, chain);
+    }
+
+    TypeConverterCompat converter = plan.property.converter;
+    //noinspection unchecked
+    float destinationFraction = converter.convert(plan.destination);
+    SpringConfig attachmentConfiguration =
+      plan.attachmentConfiguration != null ? plan.attachmentConfiguration : plan.configuration;
+    chain.start(plan.targets, destinationFraction, plan.configuration, attachmentConfiguration);
+  }
+
+  private static void checkSingleChannel(ReboundProperty<?, ?> property, Plan<?> plan) {
+    if (property instanceof MultiChannelReboundProperty) {
+      throw new IllegalArgumentException("Multi-channel property not supported for " + plan);
+    }
+  }
+
+  /**
+   * Creates a spring with the default configuration whose activity is tracked by this performer.
+   * The spring is destroyed once this performer is collected.
+   */
+  private Spring createSpring() {
+    Spring spring = springSystem.createSpring();
+    getReference().springs.add(spring);
+    spring.addListener(new WeakSpringListener(lifecycleListener));
+    return spring;
+  }
+
+  /**
+   * Returns true if the target is a view in the activity.
+   */
+  boolean isTargetIn(Activity activity) {
+    T target = getTarget();
+    return target instanceof View
+      && ReboundLeakDetector.findActivity(((View) target).getContext()) == activity;
   }
 
+  private final ChainedSprings.SpringFactory springFactory = new ChainedSprings.SpringFactory() {
+    @Override
+    public Spring createSpring() {
+      return ReboundPerformer.this.createSpring();
+    }
+  };
+
   @VisibleForTesting
   final SimpleSpringListener lifecycleListener = new SimpleSpringListener() {
 
     @Override
     public void onSpringActivate(Spring spring) {
-      if (tokens.put(spring, isActiveTokenGenerator.generate()) != null) {
-        throw new IllegalStateException("Spring activated twice before it entered resting state.");
-      }
+      // Activating an already active spring has no effect.
+      activeSprings.put(spring, Boolean.TRUE);
+      updateToken();
     }
 
     @Override
     public void onSpringAtRest(Spring spring) {
-      tokens.remove(spring).terminate();
+      activeSprings.remove(spring);
+      updateToken();
     }
   };
 
@@ -170,12 +566,17 @@ public class ReboundPerformer<T> extends Performer<T> implements ContinuousPerfo
       for (ReboundProperty<? super T, ?> property : properties) {
         Spring spring = springs.get(property);
         if (spring != null) {
+          record(spring, ReboundRecorder.GESTURE, gestureRecognizer.getState(), 0f);
           switch (gestureRecognizer.getState()) {
             case GestureRecognizer.BEGAN:
+              flings.remove(property);
               if (!pausedEndFractions.containsKey(spring)) {
                 pausedEndFractions.put(spring, spring.getEndValue());
               }
+              record(spring, ReboundRecorder.REST, 0, 0f);
               spring.setAtRest();
+              // The gesture may write to the property while the spring is paused.
+              writers.get(spring).inSync = false;
               break;
             case GestureRecognizer.RECOGNIZED:
             case GestureRecognizer.CANCELLED:
@@ -187,6 +588,487 @@ public class ReboundPerformer<T> extends Performer<T> implements ContinuousPerfo
     }
   };
 
+  /**
+   * Returns the spring's value if the property still holds it, or else the spring value that is
+   * written as the property's value.
+   */
+  private float getUnconstrainedFraction(Spring spring, ReboundProperty<? super T, ?> property) {
+    SpringWriter writer = writers.get(spring);
+    writer.flush(spring);
+    float springFraction = (float) spring.getCurrentValue();
+    if (writer.ownsProperty()) {
+      return springFraction;
+    }
+
+    float currentFraction = property.getFraction(getTarget());
+    return eq(writer.constrain(springFraction), currentFraction, EPSILON)
+      ? springFraction
+      : writer.unconstrain(currentFraction);
+  }
+
+  private void addFlingSpringTo(ObjectFlingSpringTo<T> plan) {
+    checkSingleChannel(plan.property, plan);
+    Spring spring = getSpring(plan.property);
+
+    if (plan.configuration != null) {
+      SpringConfig configuration = writers.get(spring).configuration;
+      configuration.tension = plan.configuration.tension;
+      configuration.friction = plan.configuration.friction;
+    }
+
+    // A fling replaces SpringTo plans that were not applied yet.
+    springTos.removePending(plan.property);
+
+    float startFraction = getUnconstrainedFraction(spring, plan.property);
+    FlingDecay fling =
+      new FlingDecay(startFraction, plan.velocity, plan.decayRate, plan.snapPoints);
+    if (springSystem.motionPolicy.getDurationScale() == 0f) {
+      startSpring(spring, plan.property, fling.snapPoint);
+      return;
+    }
+    flings.put(plan.property, fling);
+    scheduleFrame();
+    updateWaitingForFrames();
+  }
+
+  /**
+   * Moves a fling's property to the fling's position on this frame, or hands the fling off to the
+   * property's spring.
+   *
+   * @return Whether the fling handed off to the spring.
+   */
+  private boolean onFlingFrame(
+    Spring spring, ReboundProperty<? super T, ?> property, FlingDecay fling) {
+    double frameTimeMillis = springSystem.getFrameTimeMillis();
+    if (Double.isNaN(fling.startTimeMillis)) {
+      fling.startTimeMillis = frameTimeMillis;
+    }
+    double seconds = (frameTimeMillis - fling.startTimeMillis) / 1000;
+
+    float position = (float) fling.getPosition(seconds);
+    boolean setAtRest = true;
+    record(spring, ReboundRecorder.RESET, 0, position);
+    //noinspection ConstantConditions
+    spring.setCurrentValue(position, setAtRest);
+
+    if (!fling.shouldHandOff(seconds)) {
+      return false;
+    }
+
+    float velocity = (float) fling.getVelocity(seconds);
+    record(spring, ReboundRecorder.VELOCITY, 0, velocity);
+    spring.setVelocity(velocity);
+    startSpring(spring, property, fling.snapPoint);
+    return true;
+  }
+
+  private void addTracksGesture(ObjectTracksGesture<T> plan) {
+    checkSingleChannel(plan.property, plan);
+    if (!ReboundProperty.isMeasuredInPixels(plan.property)) {
+      throw new IllegalArgumentException(
+        "Gesture translation can only be tracked by properties in pixels, not by " + plan);
+    }
+    getSpring(plan.property);
+
+    GestureTracking tracking =
+      new GestureTracking(plan.property, plan.gestureRecognizer, plan.axis);
+    GestureTracking previous = trackings.put(plan.property, tracking);
+    if (previous != null) {
+      previous.gestureRecognizer.removeStateChangeListener(previous);
+    }
+    plan.gestureRecognizer.addStateChangeListener(tracking);
+  }
+
+  /**
+   * Moves the destination of a property's spring with a drag gesture's translation.
+   */
+  private class GestureTracking implements GestureStateChangeListener {
+
+    private final ReboundProperty<? super T, Float> property;
+    private final DragGestureRecognizer gestureRecognizer;
+    private final int axis;
+
+    /**
+     * Whether the gesture is moving the spring's destination.
+     */
+    boolean active;
+    /**
+     * The property's value when the gesture began.
+     */
+    private float origin;
+    /**
+     * The destination the spring returns to when the gesture ends.
+     */
+    double releaseEndFraction;
+
+    private GestureTracking(
+      ReboundProperty<? super T, Float> property,
+      DragGestureRecognizer gestureRecognizer,
+      int axis) {
+      this.property = property;
+      this.gestureRecognizer = gestureRecognizer;
+      this.axis = axis;
+    }
+
+    @Override
+    public void onStateChanged(GestureRecognizer gestureRecognizer) {
+      Spring spring = springs.get(property);
+      record(spring, ReboundRecorder.GESTURE, gestureRecognizer.getState(), 0f);
+
+      switch (gestureRecognizer.getState()) {
+        case GestureRecognizer.BEGAN:
+          flings.remove(property);
+          Double pausedEndFraction = pausedEndFractions.get(spring);
+          releaseEndFraction =
+            pausedEndFraction != null ? pausedEndFraction : spring.getEndValue();
+          origin = getUnconstrainedFraction(spring, property);
+          active = true;
+          startSpring(spring, property, getTrackedFraction());
+          break;
+        case GestureRecognizer.CHANGED:
+          if (active) {
+            setEndFraction(spring, property, getTrackedFraction());
+          }
+          break;
+        case GestureRecognizer.RECOGNIZED:
+        case GestureRecognizer.CANCELLED:
+          if (active) {
+            active = false;
+            startSpring(spring, property, releaseEndFraction);
+          }
+          break;
+      }
+    }
+
+    /**
+     * Returns the fraction of the origin's value moved by the gesture's translation. The
+     * translation is in pixels, so it is added to the property's value rather than its fraction.
+     */
+    private float getTrackedFraction() {
+      float translation = axis == ObjectTracksGesture.AXIS_X
+        ? gestureRecognizer.getTranslationX()
+        : gestureRecognizer.getTranslationY();
+      TypeConverterCompat<Float> converter = property.converter;
+      return converter.convert(converter.convertBack(origin) + translation);
+    }
+  }
+
+  /**
+   * Writes a spring's value to its property, and tracks whether the target is known to still hold
+   * the last written value.
+   */
+  @VisibleForTesting
+  class SpringWriter extends SimpleSpringListener {
+
+    private final ReboundProperty<? super T, ?> property;
+    /**
+     * Whether the performer is the only writer of the property.
+     *
+     * @see ObjectSpringTo#exclusive
+     */
+    boolean exclusive;
+    /**
+     * Whether the target held the spring's current value when last written or read.
+     */
+    boolean inSync;
+    private int writeStamp;
+    /**
+     * @see ObjectSpringTo#priority
+     */
+    int priority = ObjectSpringTo.PRIORITY_DEFAULT;
+    /**
+     * @see ObjectSpringTo#updateInterval
+     */
+    int updateInterval = 1;
+    /**
+     * @see ObjectSpringTo#skipInvisibleUpdates
+     */
+    boolean skipInvisibleUpdates;
+    /**
+     * Whether the spring's latest value was not written to the property.
+     */
+    private boolean writePending;
+    /**
+     * The value last written to or read from the property.
+     */
+    float lastWrittenFraction = Float.NaN;
+
+    /**
+     * For {@link MultiChannelReboundProperty multi-channel properties}, the spring runs from 0 to
+     * 1 and interpolates each channel from its start value to its destination value. Null for
+     * other properties.
+     */
+    @Nullable
+    final float[] channels;
+    @Nullable
+    final float[] startChannels;
+    @Nullable
+    final float[] endChannels;
+    /**
+     * The channels of the latest destination, applied when the spring is next started.
+     */
+    @Nullable
+    final float[] destinationChannels;
+
+    /**
+     * The bounds of the values written to the property.
+     *
+     * @see ObjectSpringTo#min
+     * @see ObjectSpringTo#max
+     */
+    float minFraction = Float.NEGATIVE_INFINITY;
+    float maxFraction = Float.POSITIVE_INFINITY;
+    /**
+     * @see ObjectSpringTo#rubberBandDistance
+     */
+    float rubberBandDistance;
+    /**
+     * The configuration requested by plans. The spring's own configuration is derived from it by
+     * the {@link MotionPolicy motion policy} when the spring is started.
+     */
+    final SpringConfig configuration =
+      new SpringConfig(SpringTo.DEFAULT_TENSION, SpringTo.DEFAULT_FRICTION);
+
+    @Nullable
+    private ReboundRecorder recorder;
+    private int recordId;
+
+    SpringWriter(ReboundProperty<? super T, ?> property) {
+      this.property = property;
+
+      if (property instanceof MultiChannelReboundProperty) {
+        int channelCount = ((MultiChannelReboundProperty<?, ?>) property).getChannelCount();
+        channels = new float[channelCount];
+        startChannels = new float[channelCount];
+        endChannels = new float[channelCount];
+        destinationChannels = new float[channelCount];
+      } else {
+        channels = null;
+        startChannels = null;
+        endChannels = null;
+        destinationChannels = null;
+      }
+    }
+
+    @Override
+    public void onSpringUpdate(Spring spring) {
+      float fraction = (float) spring.getCurrentValue();
+      if (!spring.isAtRest() && shouldSkipWrite(fraction)) {
+        writePending = true;
+      } else {
+        write(fraction);
+      }
+
+      ReboundRecorder recorder = springSystem.recorder;
+      if (recorder != null) {
+        recorder.record(ReboundRecorder.VALUE, getRecordId(recorder, spring), fraction);
+      }
+    }
+
+    @Override
+    public void onSpringAtRest(Spring spring) {
+      flush(spring);
+    }
+
+    private void write(float fraction) {
+      if (channels != null) {
+        interpolateChannels(fraction);
+        //noinspection unchecked
+        ((MultiChannelReboundProperty<? super T, ?>) property).setChannels(getTarget(), channels);
+      } else {
+        lastWrittenFraction = constrain(fraction);
+        property.setFraction(getTarget(), lastWrittenFraction);
+      }
+      markInSync();
+      writePending = false;
+    }
+
+    /**
+     * Writes the spring's value if the latest value was skipped, so the property can be compared
+     * with the spring.
+     */
+    void flush(Spring spring) {
+      if (writePending) {
+        write((float) spring.getCurrentValue());
+      }
+    }
+
+    private boolean shouldSkipWrite(float fraction) {
+      if (updateInterval > 1 && springSystem.getFrameCount() % updateInterval != 0) {
+        return true;
+      }
+      if (skipInvisibleUpdates
+        && channels == null
+        && Math.abs(constrain(fraction) - lastWrittenFraction) < property.getVisibleDelta()) {
+        return true;
+      }
+
+      FrameGovernor governor = springSystem.governor;
+      return governor != null
+        && isDegradable()
+        && governor.shouldSkipWrite(springSystem.getFrameCount());
+    }
+
+    boolean shouldSnap() {
+      FrameGovernor governor = springSystem.governor;
+      return governor != null && isDegradable() && governor.shouldSnap();
+    }
+
+    /**
+     * Returns true if the spring is low-priority and is not coupled to an active gesture.
+     */
+    private boolean isDegradable() {
+      if (priority != ObjectSpringTo.PRIORITY_LOW) {
+        return false;
+      }
+      GestureTracking tracking = trackings.get(property);
+      return tracking == null || !tracking.active;
+    }
+
+    /**
+     * Returns the spring's id in the recorder. The first time a spring is seen by a recorder, its
+     * full state is recorded so the trace does not depend on earlier operations.
+     */
+    int getRecordId(ReboundRecorder recorder, Spring spring) {
+      if (this.recorder != recorder) {
+        this.recorder = recorder;
+        recordId = recorder.nextSpringId();
+
+        SpringConfig config = spring.getSpringConfig();
+        recorder.record(
+          ReboundRecorder.CONFIG,
+          recordId,
+          Float.floatToRawIntBits((float) config.friction),
+          (float) config.tension);
+        recorder.record(ReboundRecorder.RESET, recordId, (float) spring.getCurrentValue());
+        recorder.record(ReboundRecorder.VELOCITY, recordId, (float) spring.getVelocity());
+        recorder.record(ReboundRecorder.END, recordId, (float) spring.getEndValue());
+      }
+      return recordId;
+    }
+
+    /**
+     * Returns the value written to the property for the spring's value, after applying the bounds
+     * and rubber-banding.
+     */
+    float constrain(float fraction) {
+      if (fraction < minFraction) {
+        return minFraction - rubberBand(minFraction - fraction);
+      } else if (fraction > maxFraction) {
+        return maxFraction + rubberBand(fraction - maxFraction);
+      }
+      return fraction;
+    }
+
+    /**
+     * Returns the spring value that {@link #constrain(float)} writes as the fraction. Fractions
+     * that the bounds never write, past a clamped bound or past the rubber band, give the bound.
+     */
+    float unconstrain(float fraction) {
+      if (fraction < minFraction) {
+        return minFraction - unRubberBand(minFraction - fraction);
+      } else if (fraction > maxFraction) {
+        return maxFraction + unRubberBand(fraction - maxFraction);
+      }
+      return fraction;
+    }
+
+    /**
+     * Returns the distance past a bound that {@link #rubberBand(float)} resists to the distance.
+     */
+    private float unRubberBand(float distance) {
+      if (distance >= rubberBandDistance) {
+        return 0f;
+      }
+      return distance / (rubberBandDistance - distance) * rubberBandDistance
+        / RUBBER_BAND_COEFFICIENT;
+    }
+
+    /**
+     * Resists a distance past a bound. The further past the bound, the stronger the resistance.
+     * The result approaches but never reaches {@link #rubberBandDistance}.
+     */
+    private float rubberBand(float excess) {
+      if (rubberBandDistance <= 0f) {
+        return 0f;
+      }
+      return (1f - 1f / (excess * RUBBER_BAND_COEFFICIENT / rubberBandDistance + 1f))
+        * rubberBandDistance;
+    }
+
+    private void interpolateChannels(float progress) {
+      for (int i = 0; i < channels.length; i++) {
+        channels[i] = startChannels[i] + (endChannels[i] - startChannels[i]) * progress;
+      }
+    }
+
+    /**
+     * Restarts the channels from their current values towards {@link #destinationChannels}. The
+     * spring is reset to 0 and its velocity is rescaled so the channels keep moving at the same
+     * speed in the direction of the new destination.
+     */
+    void retargetChannels(Spring spring) {
+      interpolateChannels((float) spring.getCurrentValue());
+
+      boolean keepVelocity = true;
+      if (!ownsProperty()) {
+        // A property without a value, such as unset clip bounds, jumps to the destination.
+        System.arraycopy(destinationChannels, 0, channels, 0, channels.length);
+        //noinspection unchecked
+        ((MultiChannelReboundProperty<? super T, ?>) property).getChannels(getTarget(), channels);
+        for (int i = 0; i < channels.length; i++) {
+          float previous = startChannels[i] + (endChannels[i] - startChannels[i])
+            * (float) spring.getCurrentValue();
+          keepVelocity &= eq(previous, channels[i], EPSILON);
+        }
+      }
+
+      double velocity = 0;
+      double span = 0;
+      for (int i = 0; i < channels.length; i++) {
+        double previousDelta = endChannels[i] - startChannels[i];
+        double delta = destinationChannels[i] - channels[i];
+        velocity += spring.getVelocity() * previousDelta * delta;
+        span += delta * delta;
+
+        startChannels[i] = channels[i];
+        endChannels[i] = destinationChannels[i];
+      }
+      markInSync();
+
+      boolean setAtRest = true;
+      if (span == 0) {
+        // Already at the destination.
+        record(spring, ReboundRecorder.RESET, 0, 1f);
+        //noinspection ConstantConditions
+        spring.setCurrentValue(1, setAtRest);
+        return;
+      }
+
+      record(spring, ReboundRecorder.RESET, 0, 0f);
+      //noinspection ConstantConditions
+      spring.setCurrentValue(0, setAtRest);
+      if (keepVelocity && velocity != 0) {
+        // Project the channels' velocity onto the new direction of travel.
+        record(spring, ReboundRecorder.VELOCITY, 0, (float) (velocity / span));
+        spring.setVelocity(velocity / span);
+      }
+    }
+
+    void markInSync() {
+      inSync = true;
+      writeStamp = property.getWriteStamp(getTarget());
+    }
+
+    /**
+     * Returns true if the spring's current value can be used in place of reading the property from
+     * the target.
+     */
+    boolean ownsProperty() {
+      return exclusive && inSync && writeStamp == property.getWriteStamp(getTarget());
+    }
+  }
+
   private boolean isPropertyPaused(ReboundProperty<? super T, ?> property) {
     Set<GestureRecognizer> gestureRecognizers = pausesSpringInverseMap.get(property);
     if (gestureRecognizers != null) {
@@ -202,6 +1084,144 @@ public class ReboundPerformer<T> extends Performer<T> implements ContinuousPerfo
     return false;
   }
 
+  private void addSnapshotsSprings(ObjectSnapshotsSprings<T> plan) {
+    ReboundSnapshot snapshot = plan.snapshot;
+    for (int i = 0; i < snapshot.size(); i++) {
+      ReboundProperty<? super T, ?> property = findProperty(snapshot.names[i]);
+      if (property != null) {
+        restoreSpring(getSpring(property), property, snapshot, i);
+      } else {
+        // Restored when a plan first animates the property. The snapshot itself is rewritten
+        // when it is captured, so the state is copied.
+        pendingRestores.put(snapshot.names[i], snapshot.copyOf(i));
+      }
+    }
+
+    snapshot.performer = new WeakReference<ReboundPerformer<?>>(this);
+  }
+
+  /**
+   * Returns the property with the given name that has a spring, or the built-in property with the
+   * given name if the target is a view.
+   */
+  @Nullable
+  private ReboundProperty<? super T, ?> findProperty(String name) {
+    for (int i = 0, count = springs.size(); i < count; i++) {
+      if (springs.keyAt(i).getName().equals(name)) {
+        return springs.keyAt(i);
+      }
+    }
+    if (getTarget() instanceof View) {
+      //noinspection unchecked
+      return (ReboundProperty<? super T, ?>) ReboundProperty.getBuiltInProperty(name);
+    }
+    return null;
+  }
+
+  /**
+   * Resumes a spring from the state at {@code index} in the snapshot.
+   */
+  private void restoreSpring(
+    Spring spring, ReboundProperty<? super T, ?> property, ReboundSnapshot snapshot, int index) {
+    SpringConfig configuration = writers.get(spring).configuration;
+    configuration.tension = snapshot.tensions[index];
+    configuration.friction = snapshot.frictions[index];
+
+    boolean setAtRest = true;
+    record(spring, ReboundRecorder.RESET, 0, snapshot.values[index]);
+    //noinspection ConstantConditions
+    spring.setCurrentValue(snapshot.values[index], setAtRest);
+    record(spring, ReboundRecorder.VELOCITY, 0, snapshot.velocities[index]);
+    spring.setVelocity(snapshot.velocities[index]);
+
+    // Gestures that paused the spring ended with the previous target.
+    float pausedEndFraction = snapshot.pausedEndFractions[index];
+    double endFraction =
+      Float.isNaN(pausedEndFraction) ? snapshot.endFractions[index] : pausedEndFraction;
+    setEndFraction(spring, property, endFraction);
+  }
+
+  /**
+   * Records an operation on a property's spring if a recorder is installed.
+   */
+  private void record(Spring spring, int type, int intArgument, float floatArgument) {
+    ReboundRecorder recorder = springSystem.recorder;
+    if (recorder != null) {
+      int recordId = writers.get(spring).getRecordId(recorder, spring);
+      recorder.record(type, recordId, intArgument, floatArgument);
+    }
+  }
+
+  private void recordConfig(Spring spring) {
+    SpringConfig config = spring.getSpringConfig();
+    record(
+      spring,
+      ReboundRecorder.CONFIG,
+      Float.floatToRawIntBits((float) config.friction),
+      (float) config.tension);
+  }
+
+  /**
+   * Captures the state of the springs of every property into the snapshot. Restored state of
+   * properties that have no spring yet is kept.
+   */
+  void captureSnapshot(ReboundSnapshot snapshot) {
+    int size = pendingRestores.size();
+    for (int i = 0, count = springs.size(); i < count; i++) {
+      if (!(springs.keyAt(i) instanceof MultiChannelReboundProperty)) {
+        size++;
+      }
+    }
+    snapshot.resize(size);
+
+    for (int i = 0, j = 0, count = springs.size(); i < count; i++) {
+      ReboundProperty<? super T, ?> property = springs.keyAt(i);
+      Spring spring = springs.valueAt(i);
+      if (property instanceof MultiChannelReboundProperty) {
+        // The progress of a multi-channel spring is meaningless without its channels.
+        continue;
+      }
+
+      double endFraction = spring.getEndValue();
+      ObjectSpringTo<T, ?> pending = springTos.getPending(property);
+      if (pending != null) {
+        TypeConverterCompat converter = property.converter;
+        //noinspection unchecked
+        endFraction = converter.convert(pending.destination);
+      }
+      Double pausedEndFraction = pausedEndFractions.get(spring);
+
+      snapshot.names[j] = property.getName();
+      snapshot.values[j] = (float) spring.getCurrentValue();
+      snapshot.velocities[j] = (float) spring.getVelocity();
+      if (pausedEndFraction == null) {
+        snapshot.endFractions[j] = (float) endFraction;
+        snapshot.pausedEndFractions[j] = ReboundSnapshot.NOT_PAUSED;
+      } else {
+        snapshot.endFractions[j] = (float) spring.getEndValue();
+        snapshot.pausedEndFractions[j] =
+          pending != null ? (float) endFraction : pausedEndFraction.floatValue();
+      }
+      SpringConfig configuration = writers.get(spring).configuration;
+      snapshot.tensions[j] = (float) configuration.tension;
+      snapshot.frictions[j] = (float) configuration.friction;
+      j++;
+    }
+
+    for (int i = 0, j = size - pendingRestores.size(); i < pendingRestores.size(); i++, j++) {
+      snapshot.set(j, pendingRestores.valueAt(i), 0);
+    }
+  }
+
+  private static int indexOf(String[] names, String name) {
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   /**
    * Fuzzy equal to for floats.
    * <p>
@@ -15,62 +15,198 @@
  */
 package com.google.android.material.motion.family.rebound;
 
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.Nullable;
 import android.util.Property;
 import android.view.View;
 
+import java.util.WeakHashMap;
+
 /**
  * Defines the properties that can be animated with {@link SpringTo}.
  *
  * @param <T> The type of the target this property acts on.
  * @param <V> The type of the value this property acts on.
  */
-public class ReboundProperty<T, V> {
+public class ReboundProperty<T, V> implements FractionProperty<T> {
 
-  private static final TypeConverterCompat<Float> NO_OP = new NoOpConverter();
+  static final TypeConverterCompat<Float> NO_OP = new NoOpConverter();
+
+  /**
+   * One step of an 8-bit alpha channel.
+   */
+  private static final float ALPHA_VISIBLE_DELTA = 1 / 255f;
+  private static final float PIXEL_VISIBLE_DELTA = 0.5f;
+  private static final float DEGREES_VISIBLE_DELTA = 0.1f;
+  private static final float SCALE_VISIBLE_DELTA = 0.002f;
 
   public static final ReboundProperty<View, Float> ALPHA =
-    new ReboundProperty<>(View.ALPHA, NO_OP);
+    new ReboundProperty<>(View.ALPHA, NO_OP, ALPHA_VISIBLE_DELTA);
   public static final ReboundProperty<View, Float> TRANSLATION_X =
-    new ReboundProperty<>(View.TRANSLATION_X, NO_OP);
+    new ReboundProperty<>(View.TRANSLATION_X, NO_OP, PIXEL_VISIBLE_DELTA);
   public static final ReboundProperty<View, Float> TRANSLATION_Y =
-    new ReboundProperty<>(View.TRANSLATION_Y, NO_OP);
+    new ReboundProperty<>(View.TRANSLATION_Y, NO_OP, PIXEL_VISIBLE_DELTA);
   public static final ReboundProperty<View, Float> TRANSLATION_Z =
-    new ReboundProperty<>(View.TRANSLATION_Z, NO_OP);
+    new ReboundProperty<>(View.TRANSLATION_Z, NO_OP, PIXEL_VISIBLE_DELTA);
   public static final ReboundProperty<View, Float> X =
-    new ReboundProperty<>(View.X, NO_OP);
+    new ReboundProperty<>(View.X, NO_OP, PIXEL_VISIBLE_DELTA);
   public static final ReboundProperty<View, Float> Y =
-    new ReboundProperty<>(View.Y, NO_OP);
+    new ReboundProperty<>(View.Y, NO_OP, PIXEL_VISIBLE_DELTA);
   public static final ReboundProperty<View, Float> Z =
-    new ReboundProperty<>(View.Z, NO_OP);
+    new ReboundProperty<>(View.Z, NO_OP, PIXEL_VISIBLE_DELTA);
   public static final ReboundProperty<View, Float> ROTATION =
-    new ReboundProperty<>(View.ROTATION, NO_OP);
+    new ReboundProperty<>(View.ROTATION, NO_OP, DEGREES_VISIBLE_DELTA);
   public static final ReboundProperty<View, Float> ROTATION_X =
-    new ReboundProperty<>(View.ROTATION_X, NO_OP);
+    new ReboundProperty<>(View.ROTATION_X, NO_OP, DEGREES_VISIBLE_DELTA);
   public static final ReboundProperty<View, Float> ROTATION_Y =
-    new ReboundProperty<>(View.ROTATION_Y, NO_OP);
+    new ReboundProperty<>(View.ROTATION_Y, NO_OP, DEGREES_VISIBLE_DELTA);
   public static final ReboundProperty<View, Float> SCALE_X =
-    new ReboundProperty<>(View.SCALE_X, NO_OP);
+    new ReboundProperty<>(View.SCALE_X, NO_OP, SCALE_VISIBLE_DELTA);
   public static final ReboundProperty<View, Float> SCALE_Y =
-    new ReboundProperty<>(View.SCALE_Y, NO_OP);
-  public static final ReboundProperty<View, Float> SCALE =
-    new ReboundProperty<>(new CombinedProperty<>(View.SCALE_X, View.SCALE_Y), NO_OP);
+    new ReboundProperty<>(View.SCALE_Y, NO_OP, SCALE_VISIBLE_DELTA);
+  public static final ReboundProperty<View, Float> SCALE = new ReboundProperty<>(
+    new CombinedProperty<>(View.SCALE_X, View.SCALE_Y), NO_OP, SCALE_VISIBLE_DELTA);
+  /**
+   * The color of a view's {@link ColorDrawable} background, interpolated in OKLab. Views without a
+   * color background start from transparent.
+   */
+  public static final ColorReboundProperty<View> BACKGROUND_COLOR =
+    new BackgroundColorProperty(ColorReboundProperty.Space.OKLAB);
+
+  private static final ReboundProperty<?, ?>[] BUILT_IN_PROPERTIES = {
+    ALPHA, TRANSLATION_X, TRANSLATION_Y, TRANSLATION_Z, X, Y, Z,
+    ROTATION, ROTATION_X, ROTATION_Y, SCALE_X, SCALE_Y, SCALE, BACKGROUND_COLOR
+  };
 
+  /**
+   * Built-in properties whose values are not distances in pixels.
+   */
+  private static final ReboundProperty<?, ?>[] NON_PIXEL_PROPERTIES = {
+    ALPHA, ROTATION, ROTATION_X, ROTATION_Y, SCALE_X, SCALE_Y, SCALE
+  };
+
+  /**
+   * Converts values to fractions and back. Null for {@link MultiChannelReboundProperty multi-channel
+   * properties}, whose values are converted channel by channel.
+   */
   final TypeConverterCompat<V> converter;
   final Property<T, V> property;
+  private final float visibleDelta;
+
+  /**
+   * Counts calls to {@link #notifyExternalWrite()}, which apply to every target.
+   */
+  private int writeStamp;
+  /**
+   * Counts calls to {@link #notifyExternalWrite(Object)} for each target. Targets are only
+   * weakly reachable from the map, since properties are usually shared by every target.
+   */
+  private final WeakHashMap<T, Integer> targetWriteStamps = new WeakHashMap<>();
 
   public ReboundProperty(Property<T, V> property, TypeConverterCompat<V> converter) {
+    this(property, converter, 0f);
+  }
+
+  /**
+   * Creates a property whose changes smaller than {@code visibleDelta}, in fractions, are not
+   * visible on screen.
+   *
+   * @see #getVisibleDelta()
+   */
+  public ReboundProperty(
+    Property<T, V> property, TypeConverterCompat<V> converter, float visibleDelta) {
     this.property = property;
     this.converter = converter;
+    this.visibleDelta = visibleDelta;
   }
 
+  @Override
+  public String getName() {
+    return property.getName();
+  }
+
+  /**
+   * Returns the built-in property with the given name, or null if there is none.
+   */
+  @Nullable
+  static ReboundProperty<?, ?> getBuiltInProperty(String name) {
+    for (ReboundProperty<?, ?> property : BUILT_IN_PROPERTIES) {
+      if (property.getName().equals(name)) {
+        return property;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns false if the property is a built-in property whose values are not distances in pixels,
+   * such as alpha, rotations and scales.
+   */
+  static boolean isMeasuredInPixels(ReboundProperty<?, ?> property) {
+    for (ReboundProperty<?, ?> nonPixelProperty : NON_PIXEL_PROPERTIES) {
+      if (property == nonPixelProperty) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the smallest change of the property's fraction that is visible on screen, such as a
+   * step of an 8-bit alpha channel. 0 if every change is visible.
+   *
+   * @see ObjectSpringTo#skipInvisibleUpdates
+   */
+  public float getVisibleDelta() {
+    return visibleDelta;
+  }
+
+  @Override
   public float getFraction(T target) {
     return converter.convert(property.get(target));
   }
 
+  @Override
   public void setFraction(T target, float fraction) {
     property.set(target, converter.convertBack(fraction));
   }
 
+  /**
+   * Notifies performers that this property was written to outside of a spring, on the target.
+   * <p>
+   * Springs that are {@link ObjectSpringTo#exclusive exclusive} owners of this property on the
+   * target will read the property from the target the next time they are started. Springs of
+   * other targets are not affected.
+   */
+  public void notifyExternalWrite(T target) {
+    Integer stamp = targetWriteStamps.get(target);
+    targetWriteStamps.put(target, stamp == null ? 1 : stamp + 1);
+  }
+
+  /**
+   * Notifies performers that this property was written to outside of a spring, on every target.
+   * <p>
+   * Every spring that is an {@link ObjectSpringTo#exclusive exclusive} owner of this property
+   * will read the property from its target the next time it is started. Prefer {@link
+   * #notifyExternalWrite(Object)} when the written target is known.
+   */
+  public void notifyExternalWrite() {
+    writeStamp++;
+  }
+
+  /**
+   * Returns a stamp that changes every time an external write to the target is announced.
+   */
+  int getWriteStamp(T target) {
+    if (targetWriteStamps.isEmpty()) {
+      return writeStamp;
+    }
+    Integer stamp = targetWriteStamps.get(target);
+    return stamp == null ? writeStamp : writeStamp + stamp;
+  }
+
   /**
    * A class used to convert type T to a float and back again. This is necessary when the value
    * types of in animation are different from the property type.
@@ -118,6 +254,30 @@ public class ReboundProperty<T, V> {
     }
   }
 
+  /**
+   * Reads and writes the color of a view's background without boxing.
+   */
+  private static class BackgroundColorProperty extends ColorReboundProperty<View> {
+
+    private BackgroundColorProperty(Space space) {
+      super("backgroundColor", space);
+    }
+
+    @Override
+    public int getColor(View target) {
+      Drawable background = target.getBackground();
+      if (background instanceof ColorDrawable) {
+        return ((ColorDrawable) background).getColor();
+      }
+      return Color.TRANSPARENT;
+    }
+
+    @Override
+    public void setColor(View target, int color) {
+      target.setBackgroundColor(color);
+    }
+  }
+
   /**
    * A type converter from float to float.
    */
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.Nullable;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * The state of an object's springs: their values, velocities, end values, the end values of
+ * paused springs, and their configurations. The state is stored as primitive arrays, so a snapshot
+ * can be saved in a {@link android.os.Bundle} cheaply.
+ * <p>
+ * Add a {@link ObjectSnapshotsSprings} plan with a snapshot to bind it to an object's springs.
+ * Call {@link #capture()} to update the snapshot, for example in {@code onSaveInstanceState}:
+ *
+ * <pre>
+ * outState.putParcelable(KEY, snapshot.capture());
+ * </pre>
+ *
+ * When a plan with a non-empty snapshot is added, the springs resume from the snapshot's state.
+ * Springs are matched by {@link ReboundProperty#getName() property name}.
+ */
+public class ReboundSnapshot implements Parcelable {
+
+  /**
+   * The {@link #pausedEndFractions} value for springs that were not paused.
+   */
+  static final float NOT_PAUSED = Float.NaN;
+
+  String[] names = new String[0];
+  float[] values = new float[0];
+  float[] velocities = new float[0];
+  float[] endFractions = new float[0];
+  float[] pausedEndFractions = new float[0];
+  float[] tensions = new float[0];
+  float[] frictions = new float[0];
+
+  /**
+   * The performer whose springs the snapshot is bound to. Snapshots are often retained across
+   * configuration changes, so they must not keep the performer and its target alive.
+   */
+  @Nullable
+  WeakReference<ReboundPerformer<?>> performer;
+
+  /**
+   * Creates an empty snapshot.
+   */
+  public ReboundSnapshot() {
+  }
+
+  protected ReboundSnapshot(Parcel in) {
+    names = in.createStringArray();
+    values = in.createFloatArray();
+    velocities = in.createFloatArray();
+    endFractions = in.createFloatArray();
+    pausedEndFractions = in.createFloatArray();
+    tensions = in.createFloatArray();
+    frictions = in.createFloatArray();
+  }
+
+  /**
+   * Updates the snapshot with the current state of the springs it is bound to. Does nothing if the
+   * snapshot is not bound.
+   *
+   * @return This snapshot.
+   */
+  public ReboundSnapshot capture() {
+    ReboundPerformer<?> performer = this.performer != null ? this.performer.get() : null;
+    if (performer != null) {
+      performer.captureSnapshot(this);
+    }
+    return this;
+  }
+
+  /**
+   * Returns the number of springs in the snapshot.
+   */
+  public int size() {
+    return names.length;
+  }
+
+  /**
+   * Resizes the arrays to hold {@code size} springs. Existing arrays are reused if the size did not
+   * change.
+   */
+  void resize(int size) {
+    if (names.length != size) {
+      names = new String[size];
+      values = new float[size];
+      velocities = new float[size];
+      endFractions = new float[size];
+      pausedEndFractions = new float[size];
+      tensions = new float[size];
+      frictions = new float[size];
+    }
+  }
+
+  /**
+   * Returns a new snapshot with only the state of the spring at {@code index}.
+   */
+  ReboundSnapshot copyOf(int index) {
+    ReboundSnapshot copy = new ReboundSnapshot();
+    copy.resize(1);
+    copy.set(0, this, index);
+    return copy;
+  }
+
+  /**
+   * Replaces the state at {@code index} with the state at {@code sourceIndex} in the source.
+   */
+  void set(int index, ReboundSnapshot source, int sourceIndex) {
+    names[index] = source.names[sourceIndex];
+    values[index] = source.values[sourceIndex];
+    velocities[index] = source.velocities[sourceIndex];
+    endFractions[index] = source.endFractions[sourceIndex];
+    pausedEndFractions[index] = source.pausedEndFractions[sourceIndex];
+    tensions[index] = source.tensions[sourceIndex];
+    frictions[index] = source.frictions[sourceIndex];
+  }
+
+  @Override
+  public void writeToParcel(Parcel dest, int flags) {
+    dest.writeStringArray(names);
+    dest.writeFloatArray(values);
+    dest.writeFloatArray(velocities);
+    dest.writeFloatArray(endFractions);
+    dest.writeFloatArray(pausedEndFractions);
+    dest.writeFloatArray(tensions);
+    dest.writeFloatArray(frictions);
+  }
+
+  @Override
+  public int describeContents() {
+    return 0;
+  }
+
+  public static final Creator<ReboundSnapshot> CREATOR = new Creator<ReboundSnapshot>() {
+    @Override
+    public ReboundSnapshot createFromParcel(Parcel in) {
+      return new ReboundSnapshot(in);
+    }
+
+    @Override
+    public ReboundSnapshot[] newArray(int size) {
+      return new ReboundSnapshot[size];
+    }
+  };
+}
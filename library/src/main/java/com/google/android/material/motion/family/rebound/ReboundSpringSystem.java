@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.support.annotation.Nullable;
+
+import com.facebook.rebound.AndroidSpringLooperFactory;
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringLooper;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@link ClockedSpringSystem spring system} shared by all {@link ReboundPerformer rebound
+ * performers}. Allows performers to do work in the integration loop even if none of their springs
+ * are active.
+ * <p>
+ * Idle performers are only weakly reachable from the system. Once a performer and its target are
+ * collected, the system destroys the performer's springs on the next frame, or when another
+ * performer creates its first spring. Active performers are kept alive by the system until their
+ * springs come to rest, so animations finish even if nothing else holds the performer.
+ */
+class ReboundSpringSystem extends ClockedSpringSystem {
+
+  @Nullable
+  ReboundRecorder recorder;
+  MotionPolicy motionPolicy = MotionPolicy.FULL_MOTION;
+  @Nullable
+  FrameGovernor governor;
+
+  /**
+   * References to the performers that created springs in this system. A reference is kept until
+   * its performer is collected, so that it is enqueued in {@link #collectedPerformers}.
+   */
+  final Set<PerformerReference> performerReferences = new HashSet<>();
+  private final ReferenceQueue<ReboundPerformer<?>> collectedPerformers = new ReferenceQueue<>();
+
+  ReboundSpringSystem(SpringLooper looper) {
+    super(looper);
+  }
+
+  /**
+   * Creates a spring system driven by the main thread's frame callbacks.
+   */
+  static ReboundSpringSystem create() {
+    return new ReboundSpringSystem(AndroidSpringLooperFactory.createSpringLooper());
+  }
+
+  /**
+   * Starts tracking the springs of the performer. Also destroys the springs of performers that
+   * were collected, since the performer is about to create new ones.
+   */
+  PerformerReference register(ReboundPerformer<?> performer) {
+    destroyCollectedSprings();
+    PerformerReference reference = new PerformerReference(performer, collectedPerformers);
+    performerReferences.add(reference);
+    return reference;
+  }
+
+  /**
+   * Destroys the springs of performers that were collected.
+   */
+  void destroyCollectedSprings() {
+    Reference<? extends ReboundPerformer<?>> reference;
+    while ((reference = collectedPerformers.poll()) != null) {
+      PerformerReference performerReference = (PerformerReference) reference;
+      performerReferences.remove(performerReference);
+      for (int i = 0, count = performerReference.springs.size(); i < count; i++) {
+        performerReference.springs.get(i).destroy();
+      }
+    }
+  }
+
+  @Override
+  public void loop(double ellapsedMillis) {
+    destroyCollectedSprings();
+    if (governor != null) {
+      governor.onFrame(ellapsedMillis);
+    }
+    if (recorder != null) {
+      recorder.record(ReboundRecorder.FRAME, 0, (float) ellapsedMillis);
+    }
+
+    super.loop(ellapsedMillis);
+
+    if (recorder != null) {
+      recorder.record(ReboundRecorder.INTEGRATED, 0);
+    }
+  }
+
+  /**
+   * A weak reference to a performer that keeps the springs the performer created.
+   */
+  static class PerformerReference extends WeakReference<ReboundPerformer<?>> {
+
+    final List<Spring> springs = new ArrayList<>();
+    /**
+     * The performer while it is active, so that it is not collected before its springs rest.
+     */
+    @Nullable
+    ReboundPerformer<?> activePerformer;
+
+    private PerformerReference(
+      ReboundPerformer<?> performer, ReferenceQueue<ReboundPerformer<?>> queue) {
+      super(performer, queue);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.view.View;
+
+/**
+ * Binds a {@link ReboundSnapshot snapshot} to a view's springs. If the snapshot is not empty, the
+ * springs first resume from the snapshot's state.
+ */
+public class SnapshotsSprings extends ObjectSnapshotsSprings<View> {
+
+  /**
+   * Creates a SnapshotsSprings plan.
+   *
+   * @param snapshot The snapshot to restore from, if not empty, and to bind to the view's springs.
+   */
+  public SnapshotsSprings(ReboundSnapshot snapshot) {
+    super(snapshot);
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import com.facebook.rebound.SimpleSpringListener;
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringConfig;
+
+import java.util.List;
+
+/**
+ * Drives a property of a group of targets with one spring.
+ * <p>
+ * The spring animates a normalized progress from 0 to 1. Every frame, each target is written the
+ * value between its own start fraction and the destination fraction at that progress.
+ * <p>
+ * When the group is staggered, target {@code i} follows the same curve {@code i * stagger}
+ * milliseconds later. The lagging progress is computed from the {@link SpringCurve analytic
+ * curve} of the shared spring, so no spring is needed per target.
+ */
+class SpringGroup<T> extends SimpleSpringListener {
+
+  final Spring spring;
+  final ReboundProperty<? super T, ?> property;
+
+  private final ReboundSpringSystem springSystem;
+  private final SpringCurve curve = new SpringCurve();
+
+  private Object[] targets = new Object[0];
+  private float[] startFractions = new float[0];
+  private float destinationFraction;
+
+  private boolean staggering;
+  private double staggerMillis;
+  private double startTimeMillis;
+  /**
+   * The time since start at which the shared spring came to rest.
+   */
+  private double restTimeMillis;
+
+  SpringGroup(
+    ReboundSpringSystem springSystem, Spring spring, ReboundProperty<? super T, ?> property) {
+    this.springSystem = springSystem;
+    this.spring = spring;
+    this.property = property;
+    spring.setCurrentValue(1);
+  }
+
+  /**
+   * Returns true while staggered targets are still moving. Staggered targets are written in
+   * {@link #onFrame()}, which must be called every frame until this returns false.
+   */
+  boolean isStaggering() {
+    return staggering;
+  }
+
+  /**
+   * Starts pulling every target towards the destination fraction from its current value. Target
+   * {@code i} starts {@code i * staggerMillis} milliseconds after the first target.
+   */
+  void start(List<? extends T> newTargets, float newDestinationFraction, double staggerMillis) {
+    // Keep the progress velocity continuous in the units of the first target.
+    double velocity = spring.getVelocity();
+    float previousSpan = targets.length > 0 ? destinationFraction - startFractions[0] : 0f;
+
+    int count = newTargets.size();
+    if (targets.length != count) {
+      targets = new Object[count];
+      startFractions = new float[count];
+    }
+
+    for (int i = 0; i < count; i++) {
+      T target = newTargets.get(i);
+      targets[i] = target;
+      startFractions[i] = property.getFraction(target);
+    }
+    destinationFraction = newDestinationFraction;
+
+    float span = count > 0 ? destinationFraction - startFractions[0] : 0f;
+    spring.setCurrentValue(0);
+    if (span != 0f) {
+      spring.setVelocity(velocity * previousSpan / span);
+    }
+    spring.setEndValue(1);
+
+    this.staggerMillis = staggerMillis;
+    staggering = staggerMillis > 0 && count > 1;
+    if (staggering) {
+      SpringConfig config = spring.getSpringConfig();
+      curve.set(config.tension, config.friction, -1, spring.getVelocity());
+      startTimeMillis = springSystem.getFrameTimeMillis();
+      restTimeMillis = Double.POSITIVE_INFINITY;
+    }
+  }
+
+  @Override
+  public void onSpringUpdate(Spring spring) {
+    if (staggering) {
+      return;
+    }
+
+    float progress = (float) spring.getCurrentValue();
+    for (int i = 0; i < targets.length; i++) {
+      write(i, progress);
+    }
+  }
+
+  @Override
+  public void onSpringAtRest(Spring spring) {
+    if (staggering) {
+      restTimeMillis = springSystem.getFrameTimeMillis() - startTimeMillis;
+    }
+  }
+
+  /**
+   * Writes every staggered target at its offset on the curve. Returns true if any target is still
+   * moving.
+   */
+  boolean onFrame() {
+    double elapsedMillis = springSystem.getFrameTimeMillis() - startTimeMillis;
+    for (int i = 0; i < targets.length; i++) {
+      double millis = elapsedMillis - i * staggerMillis;
+      float progress;
+      if (millis <= 0) {
+        progress = 0f;
+      } else if (millis >= restTimeMillis) {
+        progress = 1f;
+      } else {
+        progress = (float) (1 + curve.getDisplacement(millis / 1000));
+      }
+      write(i, progress);
+    }
+
+    staggering = elapsedMillis < restTimeMillis + (targets.length - 1) * staggerMillis;
+    return staggering;
+  }
+
+  private void write(int index, float progress) {
+    //noinspection unchecked
+    T target = (T) targets[index];
+    float start = startFractions[index];
+    property.setFraction(target, start + (destinationFraction - start) * progress);
+  }
+}
@@ -23,6 +23,9 @@ import com.facebook.rebound.Spring;
  * Pull a view's {@link ReboundProperty property} towards a specific value using a {@link Spring
  * Rebound spring}. When multiple plans are added to the same property, the last-registered plan's
  * {@link #destination} will be used.
+ * <p>
+ * Plans are applied on the next frame. Plans for the same property that are added within a single
+ * frame are coalesced, so only the last-registered plan is applied.
  */
 public class SpringTo<V> extends ObjectSpringTo<View, V> {
 
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import android.view.View;
+
+import com.google.android.material.motion.gestures.DragGestureRecognizer;
+import com.google.android.material.motion.gestures.GestureRecognizer;
+
+/**
+ * Moves the destination of a view's {@link SpringTo spring} with a drag gesture, so the property
+ * follows the finger with spring smoothing.
+ */
+public class TracksGesture extends ObjectTracksGesture<View> {
+
+  /**
+   * Creates a TracksGesture plan.
+   *
+   * @param property The destination of the spring for this property will follow the gesture.
+   * @param gestureRecognizer The gesture recognizer whose translation is tracked between {@link
+   * GestureRecognizer#BEGAN} and {@link GestureRecognizer#RECOGNIZED} or {@link
+   * GestureRecognizer#CANCELLED}.
+   * @param axis Either {@link #AXIS_X} or {@link #AXIS_Y}.
+   */
+  public TracksGesture(
+    ReboundProperty<? super View, Float> property,
+    DragGestureRecognizer gestureRecognizer,
+    int axis) {
+    super(property, gestureRecognizer, axis);
+  }
+}
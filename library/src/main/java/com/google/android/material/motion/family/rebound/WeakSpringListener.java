@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringListener;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Forwards the events of a spring to a listener without keeping the listener alive.
+ * <p>
+ * The shared spring system keeps every spring, and springs keep their listeners. Listeners of
+ * {@link ReboundPerformer rebound performers} reach the performer and its target, so they are
+ * added through this class and kept alive by the performer instead.
+ */
+class WeakSpringListener implements SpringListener {
+
+  private final WeakReference<SpringListener> listener;
+
+  WeakSpringListener(SpringListener listener) {
+    this.listener = new WeakReference<>(listener);
+  }
+
+  @Override
+  public void onSpringUpdate(Spring spring) {
+    SpringListener listener = this.listener.get();
+    if (listener != null) {
+      listener.onSpringUpdate(spring);
+    }
+  }
+
+  @Override
+  public void onSpringAtRest(Spring spring) {
+    SpringListener listener = this.listener.get();
+    if (listener != null) {
+      listener.onSpringAtRest(spring);
+    }
+  }
+
+  @Override
+  public void onSpringActivate(Spring spring) {
+    SpringListener listener = this.listener.get();
+    if (listener != null) {
+      listener.onSpringActivate(spring);
+    }
+  }
+
+  @Override
+  public void onSpringEndStateChange(Spring spring) {
+    SpringListener listener = this.listener.get();
+    if (listener != null) {
+      listener.onSpringEndStateChange(spring);
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.app.Activity;
+import android.content.Context;
+import android.support.v7.widget.RecyclerView.ViewHolder;
+import android.view.View;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class ReboundItemAnimatorTests {
+
+  private static final float EPSILON = 0.0001f;
+  /**
+   * An interval of time that represents one frame (~16ms).
+   */
+  private static final int FRAME = 16;
+
+  private Context context;
+  private FixedStepLooper springLooper;
+  private ReboundSpringSystem originalSpringSystem;
+  private ReboundItemAnimator animator;
+
+  @Before
+  public void setUp() {
+    context = Robolectric.setupActivity(Activity.class);
+    animator = new ReboundItemAnimator();
+
+    originalSpringSystem = ReboundPerformer.springSystem;
+    springLooper = new FixedStepLooper();
+    ReboundPerformer.springSystem = new ReboundSpringSystem(springLooper);
+  }
+
+  @After
+  public void tearDown() {
+    ReboundPerformer.springSystem = originalSpringSystem;
+  }
+
+  @Test
+  public void addedItemFadesIn() {
+    ViewHolder holder = createViewHolder();
+
+    assertThat(animator.animateAdd(holder)).isTrue();
+    assertThat(holder.itemView.getAlpha()).isWithin(0f).of(0f);
+    animator.runPendingAnimations();
+    springLooper.step(FRAME);
+    springLooper.step(FRAME);
+    assertThat(holder.itemView.getAlpha()).isGreaterThan(0f);
+    assertThat(animator.isRunning()).isTrue();
+
+    stepUntilSettled();
+    assertThat(holder.itemView.getAlpha()).isWithin(EPSILON).of(1f);
+    assertThat(animator.isRunning()).isFalse();
+  }
+
+  @Test
+  public void movedItemSpringsToLayoutPosition() {
+    ViewHolder holder = createViewHolder();
+
+    assertThat(animator.animateMove(holder, 0, 100, 0, 0)).isTrue();
+    assertThat(holder.itemView.getTranslationY()).isWithin(0f).of(100f);
+    animator.runPendingAnimations();
+    stepUntilSettled();
+
+    assertThat(holder.itemView.getTranslationY()).isWithin(EPSILON).of(0f);
+  }
+
+  @Test
+  public void springsAreReusedAcrossHolders() {
+    for (int i = 0; i < 10; i++) {
+      animator.animateAdd(createViewHolder());
+    }
+    animator.runPendingAnimations();
+    stepUntilSettled();
+    assertThat(animator.pool).hasSize(10);
+
+    int springCount = ReboundPerformer.springSystem.getAllSprings().size();
+    for (int i = 0; i < 10; i++) {
+      animator.animateRemove(createViewHolder());
+    }
+    animator.runPendingAnimations();
+    stepUntilSettled();
+
+    assertThat(ReboundPerformer.springSystem.getAllSprings()).hasSize(springCount);
+    assertThat(animator.pool).hasSize(10);
+  }
+
+  @Test
+  public void recycledHolderEndsItsAnimation() {
+    ViewHolder holder = createViewHolder();
+    animator.animateRemove(holder);
+    animator.runPendingAnimations();
+    springLooper.step(FRAME);
+
+    animator.onViewRecycled(holder);
+
+    assertThat(animator.isRunning()).isFalse();
+    assertThat(animator.pool).hasSize(1);
+    // The view may be reused for another item.
+    assertThat(holder.itemView.getAlpha()).isWithin(0f).of(1f);
+  }
+
+  @Test
+  public void releaseDestroysPooledSprings() {
+    int springCount = ReboundPerformer.springSystem.getAllSprings().size();
+    ViewHolder holder = createViewHolder();
+    animator.animateAdd(holder);
+    animator.animateAdd(createViewHolder());
+    animator.runPendingAnimations();
+    springLooper.step(FRAME);
+
+    animator.release();
+
+    assertThat(animator.isRunning()).isFalse();
+    assertThat(animator.pool).isEmpty();
+    assertThat(ReboundPerformer.springSystem.getAllSprings()).hasSize(springCount);
+    assertThat(holder.itemView.getAlpha()).isWithin(0f).of(1f);
+  }
+
+  @Test
+  public void noMotionPolicyEndsAnimationsImmediately() {
+    ReboundPerformer.setMotionPolicy(MotionPolicy.NO_MOTION);
+    ViewHolder holder = createViewHolder();
+
+    animator.animateMove(holder, 0, 100, 0, 0);
+    animator.runPendingAnimations();
+
+    assertThat(animator.isRunning()).isFalse();
+    assertThat(holder.itemView.getTranslationY()).isWithin(0f).of(0f);
+    assertThat(animator.pool).hasSize(1);
+  }
+
+  private ViewHolder createViewHolder() {
+    return new ViewHolder(new View(context)) {};
+  }
+
+  private void stepUntilSettled() {
+    boolean idle = false;
+    while (!idle) {
+      idle = springLooper.step(FRAME);
+    }
+  }
+}
@@ -17,12 +17,15 @@ package com.google.android.material.motion.family.rebound;
 
 import android.app.Activity;
 import android.content.Context;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.os.Parcel;
+import android.util.Property;
 import android.view.View;
 
-import com.facebook.rebound.BaseSpringSystem;
 import com.facebook.rebound.Spring;
 import com.facebook.rebound.SpringConfig;
-import com.facebook.rebound.SteppingLooper;
+import com.google.android.material.motion.gestures.DragGestureRecognizer;
 import com.google.android.material.motion.gestures.GestureRecognizer;
 import com.google.android.material.motion.gestures.testing.SimulatedGestureRecognizer;
 import com.google.android.material.motion.runtime.MotionRuntime;
@@ -31,6 +34,12 @@ import com.google.android.material.motion.runtime.PerformerFeatures.ContinuousPe
 import com.google.android.material.motion.runtime.PerformerFeatures.ContinuousPerforming.IsActiveTokenGenerator;
 import com.google.android.material.motion.runtime.Plan;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -55,9 +64,9 @@ public class ReboundPerformerTests {
 
   private MotionRuntime runtime;
   private View target;
-  private SteppingLooper springLooper;
+  private FixedStepLooper springLooper;
 
-  private BaseSpringSystem originalSpringSystem;
+  private ReboundSpringSystem originalSpringSystem;
 
   @Rule
   public ExpectedException thrown = ExpectedException.none();
@@ -70,8 +79,8 @@ public class ReboundPerformerTests {
 
     // Prevent springs from using the actual looper, which cripples robolectric.
     originalSpringSystem = ReboundPerformer.springSystem;
-    springLooper = new SteppingLooper();
-    ReboundPerformer.springSystem = new BaseSpringSystem(springLooper);
+    springLooper = new FixedStepLooper();
+    ReboundPerformer.springSystem = new ReboundSpringSystem(springLooper);
   }
 
   @After
@@ -193,6 +202,383 @@ public class ReboundPerformerTests {
     assertThat(performer.springs.size()).isEqualTo(2);
   }
 
+  @Test
+  public void coalescesSpringTosForSamePropertyWithinFrame() {
+    target.setAlpha(1f);
+    ReboundPerformer performer = createReboundPerformer();
+
+    performer.addPlan(new SpringTo<>(ReboundProperty.ALPHA, 0f));
+    performer.addPlan(new SpringTo<>(ReboundProperty.ALPHA, .5f));
+    performer.addPlan(new SpringTo<>(ReboundProperty.SCALE, 0f));
+
+    // Nothing is applied until the next frame.
+    assertThat(performer.getCoalescedPlanCount()).isEqualTo(1);
+    assertThat(performer.springTos.getPendingCount()).isEqualTo(2);
+    Spring spring = (Spring) performer.springs.get(ReboundProperty.ALPHA);
+    assertThat(spring.isAtRest()).isTrue();
+
+    stepOnce();
+    assertThat(performer.springTos.getPendingCount()).isEqualTo(0);
+    assertThat(spring.getEndValue()).isWithin(EPSILON).of(.5f);
+
+    stepUntilSettled();
+    assertThat(target.getAlpha()).isWithin(EPSILON).of(.5f);
+  }
+
+  @Test
+  public void exclusiveSpringSkipsReadingTarget() {
+    target.setAlpha(1f);
+    SpringTo<Float> fadeOut = new SpringTo<>(ReboundProperty.ALPHA, 0f);
+    fadeOut.exclusive = true;
+    runtime.addPlan(fadeOut, target);
+    stepUntilSettled();
+
+    // Unannounced write is ignored by an exclusive spring.
+    target.setAlpha(1f);
+    SpringTo<Float> fadeIn = new SpringTo<>(ReboundProperty.ALPHA, .5f);
+    fadeIn.exclusive = true;
+    runtime.addPlan(fadeIn, target);
+    stepOnce();
+    assertThat(target.getAlpha()).isLessThan(.5f);
+    stepUntilSettled();
+
+    // A write announced on another target is ignored.
+    target.setAlpha(1f);
+    ReboundProperty.ALPHA.notifyExternalWrite(new View(target.getContext()));
+    SpringTo<Float> fadeOutAgain = new SpringTo<>(ReboundProperty.ALPHA, 0f);
+    fadeOutAgain.exclusive = true;
+    runtime.addPlan(fadeOutAgain, target);
+    stepOnce();
+    assertThat(target.getAlpha()).isLessThan(.5f);
+    stepUntilSettled();
+
+    // Announced write is read by an exclusive spring.
+    target.setAlpha(1f);
+    ReboundProperty.ALPHA.notifyExternalWrite(target);
+    SpringTo<Float> fadeTo = new SpringTo<>(ReboundProperty.ALPHA, .75f);
+    fadeTo.exclusive = true;
+    runtime.addPlan(fadeTo, target);
+    stepOnce();
+    assertThat(target.getAlpha()).isGreaterThan(.75f);
+  }
+
+  @Test
+  public void groupSpringToSharesOneSpring() {
+    Context context = target.getContext();
+    List<View> rows = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      View row = new View(context);
+      row.setTranslationY(i);
+      rows.add(row);
+    }
+    int springCount = ReboundPerformer.springSystem.getAllSprings().size();
+
+    runtime.addPlan(new GroupSpringTo<>(ReboundProperty.TRANSLATION_Y, rows, 0f), target);
+    assertThat(ReboundPerformer.springSystem.getAllSprings().size()).isEqualTo(springCount + 1);
+
+    // Every row moves by the same proportion of its own distance.
+    stepOnce();
+    float progress = 1f - rows.get(100).getTranslationY() / 100f;
+    assertThat(progress).isGreaterThan(0f);
+    assertThat(1f - rows.get(199).getTranslationY() / 199f).isWithin(EPSILON).of(progress);
+
+    stepUntilSettled();
+    for (View row : rows) {
+      assertThat(row.getTranslationY()).isWithin(EPSILON).of(0f);
+    }
+  }
+
+  @Test
+  public void delayedSpringToStartsOnFrame() {
+    target.setAlpha(1f);
+    SpringTo<Float> fadeOut = new SpringTo<>(ReboundProperty.ALPHA, 0f);
+    fadeOut.delay = 5 * FRAME;
+    runtime.addPlan(fadeOut, target);
+
+    // The runtime is active while waiting for the delay.
+    stepOnce();
+    assertThat(runtime.getState()).isEqualTo(MotionRuntime.ACTIVE);
+    for (int i = 1; i < 4; i++) {
+      stepOnce();
+    }
+    assertThat(target.getAlpha()).isWithin(0f).of(1f);
+
+    stepOnce();
+    assertThat(target.getAlpha()).isLessThan(1f);
+
+    stepUntilSettled();
+    assertThat(target.getAlpha()).isWithin(EPSILON).of(0f);
+    assertThat(runtime.getState()).isEqualTo(MotionRuntime.IDLE);
+  }
+
+  @Test
+  public void staggeredGroupStartsTargetsInOrder() {
+    Context context = target.getContext();
+    List<View> rows = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      View row = new View(context);
+      row.setAlpha(0f);
+      rows.add(row);
+    }
+
+    GroupSpringTo<Float> fadeIn = new GroupSpringTo<>(ReboundProperty.ALPHA, rows, 1f);
+    fadeIn.stagger = 2 * FRAME;
+    runtime.addPlan(fadeIn, target);
+
+    stepOnce();
+    assertThat(rows.get(0).getAlpha()).isGreaterThan(0f);
+    assertThat(rows.get(1).getAlpha()).isWithin(0f).of(0f);
+
+    stepOnce();
+    stepOnce();
+    assertThat(rows.get(1).getAlpha()).isGreaterThan(0f);
+    assertThat(rows.get(1).getAlpha()).isLessThan(rows.get(0).getAlpha());
+
+    stepUntilSettled();
+    for (View row : rows) {
+      assertThat(row.getAlpha()).isWithin(0f).of(1f);
+    }
+    assertThat(runtime.getState()).isEqualTo(MotionRuntime.IDLE);
+  }
+
+  @Test
+  public void chainedTargetsFollowPreviousTarget() {
+    Context context = target.getContext();
+    List<View> links = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      links.add(new View(context));
+    }
+
+    runtime.addPlan(new ChainSpringTo<>(ReboundProperty.TRANSLATION_X, links, 100f), target);
+
+    stepOnce();
+    stepOnce();
+    assertThat(links.get(0).getTranslationX()).isGreaterThan(links.get(1).getTranslationX());
+    assertThat(links.get(1).getTranslationX()).isGreaterThan(links.get(2).getTranslationX());
+
+    stepUntilSettled();
+    for (View link : links) {
+      assertThat(link.getTranslationX()).isWithin(EPSILON).of(100f);
+    }
+  }
+
+  @Test
+  public void retargetedChainKeepsFollowerVelocity() {
+    Context context = target.getContext();
+    List<View> links = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      links.add(new View(context));
+    }
+    ReboundPerformer performer = createReboundPerformer();
+    performer.addPlan(new ChainSpringTo<>(ReboundProperty.TRANSLATION_X, links, 100f));
+    for (int i = 0; i < 5; i++) {
+      stepOnce();
+    }
+    ChainedSprings<?> chain =
+      (ChainedSprings<?>) performer.chains.get(ReboundProperty.TRANSLATION_X);
+    double[] velocities = new double[links.size()];
+    for (int i = 0; i < velocities.length; i++) {
+      velocities[i] = chain.springs.get(i).getVelocity();
+      assertThat(velocities[i]).isGreaterThan(0.0);
+    }
+
+    performer.addPlan(new ChainSpringTo<>(ReboundProperty.TRANSLATION_X, links, 200f));
+
+    for (int i = 0; i < velocities.length; i++) {
+      assertThat(chain.springs.get(i).getVelocity()).isWithin(0.0).of(velocities[i]);
+    }
+    stepUntilSettled();
+    for (View link : links) {
+      assertThat(link.getTranslationX()).isWithin(EPSILON).of(200f);
+    }
+  }
+
+  @Test
+  public void snapshotResumesSpringMidFlight() {
+    target.setAlpha(1f);
+    ReboundSnapshot snapshot = new ReboundSnapshot();
+    runtime.addPlan(new SnapshotsSprings(snapshot), target);
+    runtime.addPlan(new SpringTo<>(ReboundProperty.ALPHA, 0f), target);
+    stepOnce();
+    stepOnce();
+    float alpha = target.getAlpha();
+
+    // Round trip through a parcel, as when saving instance state.
+    Parcel parcel = Parcel.obtain();
+    parcel.writeParcelable(snapshot.capture(), 0);
+    parcel.setDataPosition(0);
+    ReboundSnapshot restored = parcel.readParcelable(ReboundSnapshot.class.getClassLoader());
+    parcel.recycle();
+    assertThat(restored.size()).isEqualTo(1);
+
+    // Restore onto a new target with a new runtime.
+    View newTarget = new View(target.getContext());
+    MotionRuntime newRuntime = new MotionRuntime();
+    newRuntime.addPlan(new SnapshotsSprings(restored), newTarget);
+    assertThat(newTarget.getAlpha()).isWithin(0f).of(alpha);
+
+    // The spring keeps its velocity and destination.
+    stepOnce();
+    assertThat(newTarget.getAlpha()).isWithin(EPSILON).of(target.getAlpha());
+    stepUntilSettled();
+    assertThat(newTarget.getAlpha()).isWithin(EPSILON).of(0f);
+  }
+
+  @Test
+  public void snapshotKeepsPendingStateWhenCapturedAgain() {
+    final float[] lift = new float[1];
+    ReboundProperty<View, Float> liftProperty = new FloatReboundProperty<View>("lift") {
+      @Override
+      public float getValue(View target) {
+        return lift[0];
+      }
+
+      @Override
+      public void setValue(View target, float value) {
+        lift[0] = value;
+      }
+    };
+    ReboundSnapshot snapshot = new ReboundSnapshot();
+    runtime.addPlan(new SnapshotsSprings(snapshot), target);
+    runtime.addPlan(new SpringTo<>(liftProperty, 100f), target);
+    stepOnce();
+    stepOnce();
+    float restoredLift = lift[0];
+    snapshot.capture();
+
+    // The property is not built in, so its state waits for the first plan that animates it.
+    View newTarget = new View(target.getContext());
+    MotionRuntime newRuntime = new MotionRuntime();
+    newRuntime.addPlan(new SnapshotsSprings(snapshot), newTarget);
+    // Saving instance state again before the property is animated.
+    assertThat(snapshot.capture().size()).isEqualTo(1);
+
+    lift[0] = 0f;
+    newRuntime.addPlan(new SpringTo<>(liftProperty, 100f), newTarget);
+    assertThat(lift[0]).isWithin(0f).of(restoredLift);
+    stepUntilSettled();
+    assertThat(lift[0]).isWithin(EPSILON).of(100f);
+  }
+
+  @Test
+  public void snapshotDoesNotKeepPerformerAlive() {
+    ReboundSnapshot snapshot = new ReboundSnapshot();
+    runtime.addPlan(new SnapshotsSprings(snapshot), target);
+    runtime.addPlan(new SpringTo<>(ReboundProperty.ALPHA, 0f), target);
+
+    assertThat(snapshot.performer).isNotNull();
+    assertThat(snapshot.performer.get()).isNotNull();
+    // A cleared reference, as after the performer was collected, leaves the snapshot as it was.
+    snapshot.performer.clear();
+    assertThat(snapshot.capture().size()).isEqualTo(0);
+  }
+
+  @Test
+  public void multiChannelSpringWritesIntoReusedValue() {
+    final List<Rect> written = new ArrayList<>();
+    Property<View, Rect> clipBounds = new Property<View, Rect>(Rect.class, "clipBounds") {
+      @Override
+      public Rect get(View object) {
+        return object.getClipBounds();
+      }
+
+      @Override
+      public void set(View object, Rect value) {
+        written.add(value);
+        object.setClipBounds(value);
+      }
+    };
+    MultiChannelReboundProperty<View, Rect> property =
+      MultiChannelReboundProperty.of(clipBounds, MultiChannelReboundProperty.RECT);
+
+    target.setClipBounds(new Rect(0, 0, 10, 10));
+    runtime.addPlan(new SpringTo<>(property, new Rect(0, 0, 100, 200)), target);
+    stepOnce();
+    stepOnce();
+    Rect clip = target.getClipBounds();
+    assertThat(clip.right).isGreaterThan(10);
+    assertThat(clip.bottom - 10).isGreaterThan(clip.right - 10);
+
+    // Retarget mid-flight. The channels continue from their current values.
+    runtime.addPlan(new SpringTo<>(property, new Rect(0, 0, 50, 50)), target);
+    stepOnce();
+    assertThat(target.getClipBounds().right).isAtLeast(clip.right);
+    stepUntilSettled();
+
+    assertThat(target.getClipBounds()).isEqualTo(new Rect(0, 0, 50, 50));
+    for (Rect rect : written) {
+      assertThat(rect).isSameAs(written.get(0));
+    }
+  }
+
+  @Test
+  public void multiChannelSpringWithoutValueJumpsToDestination() {
+    Property<View, Rect> clipBounds = new Property<View, Rect>(Rect.class, "clipBounds") {
+      @Override
+      public Rect get(View object) {
+        return object.getClipBounds();
+      }
+
+      @Override
+      public void set(View object, Rect value) {
+        object.setClipBounds(value);
+      }
+    };
+    MultiChannelReboundProperty<View, Rect> property =
+      MultiChannelReboundProperty.of(clipBounds, MultiChannelReboundProperty.RECT);
+
+    target.setClipBounds(null);
+    runtime.addPlan(new SpringTo<>(property, new Rect(0, 0, 100, 200)), target);
+    stepOnce();
+
+    assertThat(target.getClipBounds()).isEqualTo(new Rect(0, 0, 100, 200));
+    stepUntilSettled();
+    assertThat(target.getClipBounds()).isEqualTo(new Rect(0, 0, 100, 200));
+  }
+
+  @Test
+  public void springsBackgroundColor() {
+    target.setBackgroundColor(Color.BLUE);
+
+    runtime.addPlan(new SpringTo<>(ReboundProperty.BACKGROUND_COLOR, Color.RED), target);
+    stepOnce();
+    stepOnce();
+    int color = ReboundProperty.BACKGROUND_COLOR.getColor(target);
+    assertThat(color).isNotEqualTo(Color.BLUE);
+    assertThat(color).isNotEqualTo(Color.RED);
+
+    stepUntilSettled();
+    assertThat(ReboundProperty.BACKGROUND_COLOR.getColor(target)).isEqualTo(Color.RED);
+  }
+
+  @Test
+  public void replayedTraceMatchesRecordedSession() throws IOException {
+    ReboundRecorder recorder = new ReboundRecorder();
+    ReboundPerformer.setRecorder(recorder);
+
+    target.setAlpha(1f);
+    SimulatedGestureRecognizer gesture = new SimulatedGestureRecognizer(target);
+    runtime.addPlan(new PausesSpring(ReboundProperty.ALPHA, gesture), target);
+    SpringTo<Float> fadeOut = new SpringTo<>(ReboundProperty.ALPHA, 0f);
+    fadeOut.configuration = new SpringConfig(200, 10);
+    runtime.addPlan(fadeOut, target);
+
+    stepOnce();
+    stepOnce();
+    gesture.setState(GestureRecognizer.BEGAN);
+    stepOnce();
+    gesture.setState(GestureRecognizer.RECOGNIZED);
+    stepUntilSettled();
+    ReboundPerformer.setRecorder(null);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    recorder.writeTo(out);
+    ReboundReplayer replayer = new ReboundReplayer(new ByteArrayInputStream(out.toByteArray()));
+
+    assertThat(replayer.replay()).isWithin(EPSILON).of(0f);
+    assertThat(replayer.getFrameCount()).isGreaterThan(0);
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void unsupportedPlanThrowsException() {
     ReboundPerformer performer = createReboundPerformer();
@@ -201,19 +587,397 @@ public class ReboundPerformerTests {
   }
 
   @Test
-  public void lifecycleListenerActivateTwiceThrowsException() throws IllegalStateException {
+  public void lifecycleListenerSharesOneTokenAcrossSprings() {
+    TokenCounter tokens = new TokenCounter();
     ReboundPerformer performer = createReboundPerformer();
+    performer.setIsActiveTokenGenerator(tokens.generator);
     Spring spring = ReboundPerformer.springSystem.createSpring();
+    Spring otherSpring = ReboundPerformer.springSystem.createSpring();
 
-    // No exceptions expected.
     performer.lifecycleListener.onSpringActivate(spring);
+    assertThat(tokens.generated).isEqualTo(1);
 
-    // Different spring. No exceptions expected.
-    performer.lifecycleListener.onSpringActivate(ReboundPerformer.springSystem.createSpring());
-
-    // Same spring activated twice. Expect exception.
-    thrown.expect(IllegalStateException.class);
+    // Different spring. Token is shared.
+    performer.lifecycleListener.onSpringActivate(otherSpring);
+    // Same spring activated twice. No exceptions expected.
     performer.lifecycleListener.onSpringActivate(spring);
+    assertThat(tokens.generated).isEqualTo(1);
+
+    performer.lifecycleListener.onSpringAtRest(spring);
+    assertThat(tokens.terminated).isEqualTo(0);
+
+    performer.lifecycleListener.onSpringAtRest(otherSpring);
+    assertThat(tokens.terminated).isEqualTo(1);
+  }
+
+  @Test
+  public void retargetingManySpringsEveryFrameGeneratesOneToken() {
+    TokenCounter tokens = new TokenCounter();
+    ReboundPerformer performer = createReboundPerformer();
+    performer.setIsActiveTokenGenerator(tokens.generator);
+
+    float[] values = new float[100];
+    List<ReboundProperty<View, Float>> properties = createValueProperties(values);
+
+    int springCount = 0;
+    for (int frame = 0; frame < 60; frame++) {
+      for (ReboundProperty<View, Float> property : properties) {
+        performer.addPlan(new SpringTo<>(property, frame % 2 == 0 ? 100f : 0f));
+      }
+      // Plans are coalesced rather than queued.
+      assertThat(performer.springTos.getPendingCount()).isEqualTo(values.length);
+      stepOnce();
+      assertThat(performer.activeSprings.size()).isEqualTo(values.length);
+
+      // Retargeting allocates no springs, writers or tokens after the first frame.
+      if (frame == 0) {
+        springCount = ReboundPerformer.springSystem.getAllSprings().size();
+      }
+      assertThat(ReboundPerformer.springSystem.getAllSprings()).hasSize(springCount);
+      assertThat(performer.springs.size()).isEqualTo(values.length);
+      assertThat(performer.writers.size()).isEqualTo(values.length);
+      assertThat(tokens.generated).isEqualTo(1);
+    }
+    stepUntilSettled();
+
+    assertThat(performer.activeSprings.size()).isEqualTo(0);
+    assertThat(tokens.generated).isEqualTo(1);
+    assertThat(tokens.terminated).isEqualTo(1);
+  }
+
+  @Test
+  public void retargetingManySpringsEveryFrameKeepsRuntimeActiveUntilSettled() {
+    float[] values = new float[100];
+    List<ReboundProperty<View, Float>> properties = createValueProperties(values);
+
+    int springCount = 0;
+    for (int frame = 0; frame < 60; frame++) {
+      for (ReboundProperty<View, Float> property : properties) {
+        runtime.addPlan(new SpringTo<>(property, frame % 2 == 0 ? 100f : 0f), target);
+      }
+      stepOnce();
+      assertThat(runtime.getState()).isEqualTo(MotionRuntime.ACTIVE);
+
+      if (frame == 0) {
+        springCount = ReboundPerformer.springSystem.getAllSprings().size();
+      }
+      assertThat(ReboundPerformer.springSystem.getAllSprings()).hasSize(springCount);
+    }
+
+    // Active while any spring moves, idle once the last one settles.
+    boolean idle = false;
+    while (!idle) {
+      assertThat(runtime.getState()).isEqualTo(MotionRuntime.ACTIVE);
+      idle = springLooper.step(FRAME);
+    }
+    assertThat(runtime.getState()).isEqualTo(MotionRuntime.IDLE);
+    for (float value : values) {
+      assertThat(value).isWithin(EPSILON).of(0f);
+    }
+  }
+
+  @Test
+  public void trackingSpringFollowsGestureAndReturnsOnRelease() {
+    target.setTranslationX(0f);
+    ReboundPerformer performer = createReboundPerformer();
+    SimulatedDragGestureRecognizer gesture = new SimulatedDragGestureRecognizer();
+    performer.addPlan(new SpringTo<>(ReboundProperty.TRANSLATION_X, 0f));
+    performer.addPlan(
+      new TracksGesture(ReboundProperty.TRANSLATION_X, gesture, TracksGesture.AXIS_X));
+    stepUntilSettled();
+    Spring spring = (Spring) performer.springs.get(ReboundProperty.TRANSLATION_X);
+
+    gesture.drag(GestureRecognizer.BEGAN, 10f);
+    gesture.drag(GestureRecognizer.CHANGED, 100f);
+    assertThat(spring.getEndValue()).isWithin(EPSILON).of(100f);
+    stepOnce();
+    float x = target.getTranslationX();
+    assertThat(x).isGreaterThan(0f);
+    assertThat(x).isLessThan(100f);
+
+    // A plan added during the gesture is applied on release.
+    performer.addPlan(new SpringTo<>(ReboundProperty.TRANSLATION_X, -50f));
+    stepOnce();
+    assertThat(spring.getEndValue()).isWithin(EPSILON).of(100f);
+
+    gesture.drag(GestureRecognizer.RECOGNIZED, 100f);
+    stepUntilSettled();
+    assertThat(target.getTranslationX()).isWithin(EPSILON).of(-50f);
+  }
+
+  @Test
+  public void trackingSpringConvertsTranslationThroughProperty() {
+    target.setTranslationX(20f);
+    // Springs half of the translation, so fractions and pixels differ.
+    ReboundProperty<View, Float> halfTranslation = new ReboundProperty<>(
+      View.TRANSLATION_X,
+      new ReboundProperty.TypeConverterCompat<Float>() {
+        @Override
+        public float convert(Float value) {
+          return value / 2f;
+        }
+
+        @Override
+        public Float convertBack(float value) {
+          return value * 2f;
+        }
+      });
+    ReboundPerformer performer = createReboundPerformer();
+    SimulatedDragGestureRecognizer gesture = new SimulatedDragGestureRecognizer();
+    performer.addPlan(new TracksGesture(halfTranslation, gesture, TracksGesture.AXIS_X));
+
+    gesture.drag(GestureRecognizer.BEGAN, 0f);
+    gesture.drag(GestureRecognizer.CHANGED, 100f);
+    stepUntilSettled();
+    assertThat(target.getTranslationX()).isWithin(EPSILON).of(120f);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void trackingGestureRejectsPropertiesNotInPixels() {
+    ReboundPerformer performer = createReboundPerformer();
+    performer.addPlan(new TracksGesture(
+      ReboundProperty.SCALE, new SimulatedDragGestureRecognizer(), TracksGesture.AXIS_X));
+  }
+
+  @Test
+  public void boundedSpringStopsAtBound() {
+    target.setTranslationX(0f);
+    SpringTo<Float> springTo = new SpringTo<>(ReboundProperty.TRANSLATION_X, 150f);
+    springTo.max = 100f;
+    runtime.addPlan(springTo, target);
+
+    boolean idle = false;
+    while (!idle) {
+      idle = springLooper.step(FRAME);
+      assertThat(target.getTranslationX()).isAtMost(100f);
+    }
+    assertThat(target.getTranslationX()).isWithin(EPSILON).of(100f);
+  }
+
+  @Test
+  public void trackingSpringRubberBandsPastBounds() {
+    target.setTranslationX(0f);
+    ReboundPerformer performer = createReboundPerformer();
+    SimulatedDragGestureRecognizer gesture = new SimulatedDragGestureRecognizer();
+    SpringTo<Float> springTo = new SpringTo<>(ReboundProperty.TRANSLATION_X, 0f);
+    springTo.max = 100f;
+    springTo.rubberBandDistance = 50f;
+    performer.addPlan(springTo);
+    performer.addPlan(
+      new TracksGesture(ReboundProperty.TRANSLATION_X, gesture, TracksGesture.AXIS_X));
+    stepUntilSettled();
+
+    gesture.drag(GestureRecognizer.BEGAN, 0f);
+    gesture.drag(GestureRecognizer.CHANGED, 300f);
+    stepUntilSettled();
+    assertThat(target.getTranslationX()).isGreaterThan(100f);
+    assertThat(target.getTranslationX()).isLessThan(150f);
+
+    gesture.drag(GestureRecognizer.RECOGNIZED, 300f);
+    stepUntilSettled();
+    assertThat(target.getTranslationX()).isWithin(EPSILON).of(0f);
+  }
+
+  @Test
+  public void springReleasedPastBoundStartsFromWrittenValue() {
+    target.setTranslationX(0f);
+    ReboundPerformer performer = createReboundPerformer();
+    SimulatedGestureRecognizer gesture = new SimulatedGestureRecognizer(target);
+    SpringTo<Float> springTo = new SpringTo<>(ReboundProperty.TRANSLATION_X, 0f);
+    springTo.max = 100f;
+    springTo.rubberBandDistance = 50f;
+    performer.addPlan(springTo);
+    performer.addPlan(new PausesSpring(ReboundProperty.TRANSLATION_X, gesture));
+    stepUntilSettled();
+    Spring spring = (Spring) performer.springs.get(ReboundProperty.TRANSLATION_X);
+
+    // The gesture drags the view past its bound, within the rubber band.
+    gesture.setState(GestureRecognizer.BEGAN);
+    target.setTranslationX(130f);
+    gesture.setState(GestureRecognizer.RECOGNIZED);
+
+    ReboundPerformer.SpringWriter writer =
+      (ReboundPerformer.SpringWriter) performer.writers.get(spring);
+    assertThat(writer.constrain((float) spring.getCurrentValue())).isWithin(.001f).of(130f);
+    stepOnce();
+    assertThat(target.getTranslationX()).isGreaterThan(120f);
+    assertThat(target.getTranslationX()).isAtMost(130f);
+
+    stepUntilSettled();
+    assertThat(target.getTranslationX()).isWithin(EPSILON).of(0f);
+  }
+
+  @Test
+  public void flingSnapsToPointNearestItsRestingPosition() {
+    target.setTranslationX(0f);
+    ReboundPerformer performer = createReboundPerformer();
+
+    // Decays to rest at 250 on its own.
+    performer.addPlan(new FlingSpringTo(ReboundProperty.TRANSLATION_X, 1000f, 0f, 200f, 400f));
+    stepOnce();
+    stepOnce();
+    assertThat(performer.flings.size()).isEqualTo(1);
+    assertThat(target.getTranslationX()).isGreaterThan(0f);
+
+    stepUntilSettled();
+    assertThat(performer.flings.size()).isEqualTo(0);
+    assertThat(target.getTranslationX()).isWithin(EPSILON).of(200f);
+  }
+
+  @Test
+  public void flingWithoutDecayIsRejected() {
+    ReboundPerformer performer = createReboundPerformer();
+    FlingSpringTo fling = new FlingSpringTo(ReboundProperty.TRANSLATION_X, 1000f, 0f, 200f);
+    fling.decayRate = 0f;
+
+    thrown.expect(IllegalArgumentException.class);
+    performer.addPlan(fling);
+  }
+
+  @Test
+  public void nearestSnapPointUsesSortedValues() {
+    float[] snapPoints = {-100f, 0f, 100f, 300f};
+
+    assertThat(FlingDecay.nearest(snapPoints, -500f)).isWithin(0f).of(-100f);
+    assertThat(FlingDecay.nearest(snapPoints, 0f)).isWithin(0f).of(0f);
+    assertThat(FlingDecay.nearest(snapPoints, 190f)).isWithin(0f).of(100f);
+    assertThat(FlingDecay.nearest(snapPoints, 210f)).isWithin(0f).of(300f);
+    assertThat(FlingDecay.nearest(snapPoints, 500f)).isWithin(0f).of(300f);
+    assertThat(FlingDecay.nearest(new float[0], 42f)).isWithin(0f).of(42f);
+  }
+
+  @Test
+  public void noMotionPolicySnapsSpringsAndTerminatesToken() {
+    TokenCounter tokens = new TokenCounter();
+    target.setAlpha(1f);
+    ReboundPerformer performer = createReboundPerformer();
+    performer.setIsActiveTokenGenerator(tokens.generator);
+
+    performer.addPlan(new SpringTo<>(ReboundProperty.ALPHA, 0.5f));
+    stepOnce();
+    assertThat(tokens.generated).isEqualTo(1);
+
+    // Interrupts the moving spring.
+    ReboundPerformer.setMotionPolicy(MotionPolicy.NO_MOTION);
+    performer.addPlan(new SpringTo<>(ReboundProperty.ALPHA, 0f));
+    stepOnce();
+    assertThat(target.getAlpha()).isWithin(0f).of(0f);
+
+    stepUntilSettled();
+    assertThat(tokens.terminated).isEqualTo(1);
+
+    // A spring at rest snaps without becoming active.
+    performer.addPlan(new SpringTo<>(ReboundProperty.ALPHA, 1f));
+    stepOnce();
+    assertThat(target.getAlpha()).isWithin(0f).of(1f);
+    assertThat(tokens.generated).isEqualTo(1);
+  }
+
+  @Test
+  public void durationScaleShortensSettleTime() {
+    int fullFrames = countFramesToSettle(ReboundProperty.TRANSLATION_X);
+
+    ReboundPerformer.setMotionPolicy(MotionPolicy.fixed(0.5f));
+    int shortenedFrames = countFramesToSettle(ReboundProperty.TRANSLATION_Y);
+
+    assertThat(shortenedFrames).isLessThan(fullFrames * 3 / 4);
+    assertThat(target.getTranslationY()).isWithin(EPSILON).of(100f);
+  }
+
+  @Test
+  public void nullMotionPolicyRestoresFullMotion() {
+    int fullFrames = countFramesToSettle(ReboundProperty.TRANSLATION_X);
+
+    ReboundPerformer.setMotionPolicy(MotionPolicy.NO_MOTION);
+    ReboundPerformer.setMotionPolicy(null);
+    int restoredFrames = countFramesToSettle(ReboundProperty.TRANSLATION_Y);
+
+    assertThat(restoredFrames).isEqualTo(fullFrames);
+    assertThat(target.getTranslationY()).isWithin(EPSILON).of(100f);
+  }
+
+  @Test
+  public void governorLowersFidelityOfLowPrioritySpringsUnderPressure() {
+    final List<Integer> levels = new ArrayList<>();
+    FrameGovernor governor = new FrameGovernor();
+    governor.setMetricsListener(new FrameGovernor.MetricsListener() {
+      @Override
+      public void onLevelChanged(int level, double averageFrameMillis) {
+        levels.add(level);
+      }
+    });
+    ReboundPerformer.setFrameGovernor(governor);
+
+    // Sustained missed frames.
+    for (int i = 0; i < 60; i++) {
+      governor.onFrame(40);
+    }
+    assertThat(levels).containsExactly(FrameGovernor.LEVEL_REDUCED, FrameGovernor.LEVEL_MINIMAL);
+
+    target.setAlpha(1f);
+    SpringTo<Float> fadeOut = new SpringTo<>(ReboundProperty.ALPHA, 0f);
+    fadeOut.priority = SpringTo.PRIORITY_LOW;
+    runtime.addPlan(fadeOut, target);
+    runtime.addPlan(new SpringTo<>(ReboundProperty.TRANSLATION_X, 100f), target);
+    stepOnce();
+    assertThat(target.getAlpha()).isWithin(0f).of(0f);
+    assertThat(target.getTranslationX()).isGreaterThan(0f);
+    assertThat(target.getTranslationX()).isLessThan(100f);
+    assertThat(governor.getSnappedSpringCount()).isEqualTo(1);
+
+    // Frames recover.
+    for (int i = 0; i < 100; i++) {
+      governor.onFrame(16);
+    }
+    assertThat(levels).containsExactly(
+      FrameGovernor.LEVEL_REDUCED, FrameGovernor.LEVEL_MINIMAL, FrameGovernor.LEVEL_REDUCED);
+
+    SpringTo<Float> fadeIn = new SpringTo<>(ReboundProperty.ALPHA, 1f);
+    fadeIn.priority = SpringTo.PRIORITY_LOW;
+    runtime.addPlan(fadeIn, target);
+    stepUntilSettled();
+    assertThat(governor.getSkippedWriteCount()).isGreaterThan(0);
+    assertThat(target.getAlpha()).isWithin(EPSILON).of(1f);
+  }
+
+  @Test
+  public void updateIntervalWritesEveryNthFrame() {
+    CountingProperty everyFrame = new CountingProperty();
+    CountingProperty everyThirdFrame = new CountingProperty();
+    SpringTo<Float> decimated = new SpringTo<>(everyThirdFrame, 100f);
+    decimated.updateInterval = 3;
+
+    runtime.addPlan(new SpringTo<>(everyFrame, 100f), target);
+    runtime.addPlan(decimated, target);
+    stepUntilSettled();
+
+    assertThat(everyThirdFrame.writes).isLessThan(everyFrame.writes / 2);
+    assertThat(everyThirdFrame.value).isWithin(EPSILON).of(100f);
+  }
+
+  @Test
+  public void invisibleUpdatesAreSkipped() {
+    CountingProperty everyChange = new CountingProperty();
+    CountingProperty visibleChanges = new CountingProperty();
+    SpringTo<Float> skipping = new SpringTo<>(visibleChanges, 100f);
+    skipping.skipInvisibleUpdates = true;
+
+    runtime.addPlan(new SpringTo<>(everyChange, 100f), target);
+    runtime.addPlan(skipping, target);
+    float previous = 0f;
+    boolean idle = false;
+    while (!idle) {
+      idle = springLooper.step(FRAME);
+      // The final value is always written.
+      if (!idle && visibleChanges.value != previous) {
+        assertThat(Math.abs(visibleChanges.value - previous))
+          .isAtLeast(CountingProperty.VISIBLE_DELTA);
+        previous = visibleChanges.value;
+      }
+    }
+
+    assertThat(visibleChanges.writes).isLessThan(everyChange.writes);
+    assertThat(visibleChanges.value).isWithin(EPSILON).of(100f);
   }
 
   @Test
@@ -319,6 +1083,59 @@ public class ReboundPerformerTests {
     assertThat(target.getAlpha()).isLessThan(1f);
   }
 
+  @Test
+  public void springsOfCollectedPerformersAreDestroyed() {
+    ReboundPerformer performer = createReboundPerformer();
+    performer.addPlan(new SpringTo<>(ReboundProperty.ALPHA, 0f));
+    stepUntilSettled();
+    String springId = ((Spring) performer.springs.valueAt(0)).getId();
+
+    // Simulates the collection of the performer.
+    ReboundSpringSystem.PerformerReference reference = performer.reference;
+    reference.clear();
+    reference.enqueue();
+    ReboundPerformer.springSystem.destroyCollectedSprings();
+
+    assertThat(ReboundPerformer.springSystem.performerReferences).isEmpty();
+    assertThat(ReboundPerformer.springSystem.getSpringById(springId)).isNull();
+  }
+
+  @Test
+  public void activePerformerIsKeptAliveUntilSpringsRest() {
+    target.setAlpha(1f);
+    ReboundPerformer performer = createReboundPerformer();
+    performer.addPlan(new SpringTo<>(ReboundProperty.ALPHA, 0f));
+    stepOnce();
+    stepOnce();
+    assertThat(performer.reference.activePerformer).isSameAs(performer);
+
+    stepUntilSettled();
+    assertThat(performer.reference.activePerformer).isNull();
+    assertThat(target.getAlpha()).isWithin(EPSILON).of(0f);
+  }
+
+  @Test
+  public void leakDetectorReportsPerformersOfDestroyedActivity() {
+    ReboundPerformer performer = createReboundPerformer();
+    performer.addPlan(new SpringTo<>(ReboundProperty.ALPHA, 0f));
+    final List<ReboundPerformer<?>> leaked = new ArrayList<>();
+
+    int leaks = ReboundLeakDetector.check(
+      (Activity) target.getContext(), new ReboundLeakDetector.LeakListener() {
+        @Override
+        public void onPerformerLeaked(
+          Activity activity, ReboundPerformer<?> performer, int springCount) {
+          assertThat(springCount).isEqualTo(1);
+          leaked.add(performer);
+        }
+      });
+
+    assertThat(leaks).isEqualTo(1);
+    assertThat(leaked).containsExactly(performer);
+    assertThat(ReboundLeakDetector.check(new Activity(), ReboundLeakDetector.LOG_LISTENER))
+      .isEqualTo(0);
+  }
+
   /**
    * Advance the spring simulation by one frame.
    */
@@ -336,10 +1153,46 @@ public class ReboundPerformerTests {
     }
   }
 
+  /**
+   * Springs the property to 100 and returns the number of frames until the simulation is idle.
+   */
+  private int countFramesToSettle(ReboundProperty<View, Float> property) {
+    runtime.addPlan(new SpringTo<>(property, 100f), target);
+    int frames = 0;
+    boolean idle = false;
+    while (!idle) {
+      idle = springLooper.step(FRAME);
+      frames++;
+    }
+    return frames;
+  }
+
   /**
    * Creates and initializes a ReboundPerformer manually, rather than letting the {@link Runtime}
    * do it.
    */
+  /**
+   * Creates one property for each of the values.
+   */
+  private static List<ReboundProperty<View, Float>> createValueProperties(final float[] values) {
+    List<ReboundProperty<View, Float>> properties = new ArrayList<>();
+    for (int i = 0; i < values.length; i++) {
+      final int index = i;
+      properties.add(new FloatReboundProperty<View>("value" + i) {
+        @Override
+        public float getValue(View target) {
+          return values[index];
+        }
+
+        @Override
+        public void setValue(View target, float value) {
+          values[index] = value;
+        }
+      });
+    }
+    return properties;
+  }
+
   private ReboundPerformer createReboundPerformer() {
     ReboundPerformer performer = new ReboundPerformer();
     performer.initialize(target);
@@ -357,6 +1210,59 @@ public class ReboundPerformerTests {
     return performer;
   }
 
+  /**
+   * Counts the tokens generated and terminated through {@link #generator}.
+   */
+  private static class TokenCounter {
+
+    private int generated;
+    private int terminated;
+
+    private final IsActiveTokenGenerator generator = new IsActiveTokenGenerator() {
+      @Override
+      public IsActiveToken generate() {
+        generated++;
+        return new IsActiveToken() {
+          @Override
+          public void terminate() {
+            terminated++;
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * A float property that counts its writes and whose changes below 5 are not visible.
+   */
+  private static class CountingProperty extends FloatReboundProperty<View> {
+
+    private static final float VISIBLE_DELTA = 5f;
+
+    private int writes;
+    private float value;
+
+    private CountingProperty() {
+      super("counting");
+    }
+
+    @Override
+    public float getVisibleDelta() {
+      return VISIBLE_DELTA;
+    }
+
+    @Override
+    public float getValue(View target) {
+      return value;
+    }
+
+    @Override
+    public void setValue(View target, float value) {
+      writes++;
+      this.value = value;
+    }
+  }
+
   private static class UnsupportedPlan extends Plan {
 
     @Override
@@ -364,4 +1270,22 @@ public class ReboundPerformerTests {
       return ReboundPerformer.class;
     }
   }
+
+  /**
+   * A drag gesture recognizer whose translation and state are set directly.
+   */
+  private static class SimulatedDragGestureRecognizer extends DragGestureRecognizer {
+
+    private float translationX;
+
+    void drag(int state, float translationX) {
+      this.translationX = translationX;
+      setState(state);
+    }
+
+    @Override
+    public float getTranslationX() {
+      return translationX;
+    }
+  }
 }
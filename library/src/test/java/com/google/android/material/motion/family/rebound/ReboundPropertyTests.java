@@ -19,6 +19,11 @@ import static com.google.common.truth.Truth.assertThat;
 
 import android.app.Activity;
 import android.content.Context;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.util.Property;
 import android.view.View;
 import org.junit.Before;
 import org.junit.Test;
@@ -31,6 +36,8 @@ import org.robolectric.annotation.Config;
 @Config(constants = BuildConfig.class, sdk = 21)
 public class ReboundPropertyTests {
 
+  private static final float EPSILON = 0.01f;
+
   private View target;
 
   @Before
@@ -62,4 +69,200 @@ public class ReboundPropertyTests {
     assertThat(ReboundProperty.ALPHA.converter.convert(0.5f)).isWithin(0).of(0.5f);
     assertThat(ReboundProperty.ALPHA.converter.convertBack(0.5f)).isWithin(0).of(0.5f);
   }
+
+  @Test
+  public void floatPropertyCallsAccessorsDirectly() {
+    FloatReboundProperty<View> elevation = new FloatReboundProperty<View>("elevation") {
+      @Override
+      public float getValue(View target) {
+        return target.getElevation();
+      }
+
+      @Override
+      public void setValue(View target, float value) {
+        target.setElevation(value);
+      }
+    };
+
+    elevation.setFraction(target, 4f);
+    assertThat(target.getElevation()).isWithin(0).of(4f);
+    assertThat(elevation.getFraction(target)).isWithin(0).of(4f);
+
+    // The boxed property is still available.
+    assertThat(elevation.property.getName()).isEqualTo("elevation");
+    assertThat(elevation.property.get(target)).isWithin(0).of(4f);
+  }
+
+  @Test
+  public void channelConvertersRoundTrip() {
+    float[] channels = new float[MultiChannelReboundProperty.RECT.getChannelCount()];
+    MultiChannelReboundProperty.RECT.toChannels(new Rect(1, 2, 3, 4), channels);
+    assertThat(channels).isEqualTo(new float[] {1, 2, 3, 4});
+
+    channels[2] = 3.6f;
+    Rect rect = MultiChannelReboundProperty.RECT.newValue();
+    MultiChannelReboundProperty.RECT.fromChannels(channels, rect);
+    assertThat(rect).isEqualTo(new Rect(1, 2, 4, 4));
+
+    Matrix matrix = new Matrix();
+    matrix.setScale(2f, 3f);
+    float[] values = new float[MultiChannelReboundProperty.MATRIX.getChannelCount()];
+    MultiChannelReboundProperty.MATRIX.toChannels(matrix, values);
+    Matrix copy = MultiChannelReboundProperty.MATRIX.newValue();
+    MultiChannelReboundProperty.MATRIX.fromChannels(values, copy);
+    float[] copyValues = new float[values.length];
+    copy.getValues(copyValues);
+    assertThat(copyValues).isEqualTo(values);
+  }
+
+  @Test
+  public void fractionOfMultiChannelPropertyIsFirstChannel() {
+    Property<View, Rect> clipBounds = new Property<View, Rect>(Rect.class, "clipBounds") {
+      @Override
+      public Rect get(View object) {
+        return object.getClipBounds();
+      }
+
+      @Override
+      public void set(View object, Rect value) {
+        object.setClipBounds(value);
+      }
+    };
+    MultiChannelReboundProperty<View, Rect> property =
+      MultiChannelReboundProperty.of(clipBounds, MultiChannelReboundProperty.RECT);
+
+    target.setClipBounds(new Rect(1, 2, 3, 4));
+    assertThat(property.getFraction(target)).isWithin(0).of(1f);
+
+    property.setFraction(target, 5f);
+    assertThat(target.getClipBounds()).isEqualTo(new Rect(5, 2, 3, 4));
+
+    // Unset clip bounds leave the channels unchanged.
+    target.setClipBounds(null);
+    float[] channels = {6, 7, 8, 9};
+    property.getChannels(target, channels);
+    assertThat(channels).isEqualTo(new float[] {6, 7, 8, 9});
+    assertThat(property.getFraction(target)).isWithin(0).of(0f);
+  }
+
+  @Test
+  public void colorChannelsRoundTrip() {
+    int[] colors = {Color.TRANSPARENT, Color.BLACK, Color.WHITE, 0x80336699, 0xfffe0102};
+    for (ColorReboundProperty.Space space : ColorReboundProperty.Space.values()) {
+      ColorReboundProperty<View> property = new TestColorProperty(space);
+      float[] channels = new float[property.getChannelCount()];
+      for (int color : colors) {
+        property.toChannels(color, channels);
+        assertThat(property.toColor(channels)).isEqualTo(color);
+      }
+    }
+  }
+
+  @Test
+  public void linearColorsMixLikeLight() {
+    ColorReboundProperty<View> property =
+      new TestColorProperty(ColorReboundProperty.Space.LINEAR_RGB);
+    float[] black = new float[4];
+    float[] white = new float[4];
+    property.toChannels(Color.BLACK, black);
+    property.toChannels(Color.WHITE, white);
+
+    float[] mix = new float[4];
+    for (int i = 0; i < mix.length; i++) {
+      mix[i] = (black[i] + white[i]) / 2;
+    }
+
+    // Half the light of white is sRGB 188, not 128.
+    assertThat(Color.red(property.toColor(mix))).isEqualTo(188);
+  }
+
+  @Test
+  public void backgroundColorPropertyWritesColor() {
+    ReboundProperty.BACKGROUND_COLOR.setColor(target, Color.RED);
+
+    assertThat(ReboundProperty.BACKGROUND_COLOR.getColor(target)).isEqualTo(Color.RED);
+    assertThat(ReboundProperty.BACKGROUND_COLOR.property.get(target)).isEqualTo(Color.RED);
+  }
+
+  @Test
+  public void pathPropertyFollowsPath() {
+    Path path = new Path();
+    path.moveTo(0f, 0f);
+    path.lineTo(100f, 0f);
+    path.lineTo(100f, 100f);
+    PathReboundProperty<View> property = PathReboundProperty.ofTranslation(path, true);
+    assertThat(property.getLength()).isWithin(EPSILON).of(200f);
+
+    property.setFraction(target, .25f);
+    assertThat(target.getTranslationX()).isWithin(EPSILON).of(50f);
+    assertThat(target.getTranslationY()).isWithin(EPSILON).of(0f);
+    assertThat(target.getRotation()).isWithin(EPSILON).of(0f);
+
+    property.setFraction(target, .75f);
+    assertThat(target.getTranslationX()).isWithin(EPSILON).of(100f);
+    assertThat(target.getTranslationY()).isWithin(EPSILON).of(50f);
+    assertThat(target.getRotation()).isWithin(EPSILON).of(90f);
+    assertThat(property.getFraction(target)).isWithin(0).of(.75f);
+
+    // Overshoot continues past the end of the path.
+    property.setFraction(target, 1.1f);
+    assertThat(target.getTranslationY()).isWithin(EPSILON).of(120f);
+  }
+
+  @Test
+  public void pathPropertyJoinsContours() {
+    Path path = new Path();
+    path.moveTo(0f, 0f);
+    path.lineTo(100f, 0f);
+    path.moveTo(0f, 100f);
+    path.lineTo(0f, 200f);
+    PathReboundProperty<View> property = PathReboundProperty.ofTranslation(path, true);
+    assertThat(property.getLength()).isWithin(EPSILON).of(200f);
+
+    property.setFraction(target, .25f);
+    assertThat(target.getTranslationX()).isWithin(EPSILON).of(50f);
+    assertThat(target.getTranslationY()).isWithin(EPSILON).of(0f);
+    assertThat(target.getRotation()).isWithin(EPSILON).of(0f);
+
+    // The second contour starts where the first one ends, at half of the length.
+    property.setFraction(target, .75f);
+    assertThat(target.getTranslationX()).isWithin(EPSILON).of(0f);
+    assertThat(target.getTranslationY()).isWithin(EPSILON).of(150f);
+    assertThat(target.getRotation()).isWithin(EPSILON).of(90f);
+
+    property.setFraction(target, 1f);
+    assertThat(target.getTranslationY()).isWithin(EPSILON).of(200f);
+  }
+
+  @Test
+  public void pathSampleCountGrowsWithLength() {
+    Path shortPath = new Path();
+    shortPath.lineTo(100f, 0f);
+    assertThat(PathArcLengthTable.get(shortPath).getSampleCount()).isEqualTo(51);
+
+    Path longPath = new Path();
+    longPath.lineTo(1000f, 0f);
+    assertThat(PathArcLengthTable.get(longPath).getSampleCount()).isEqualTo(501);
+
+    // Very long paths are sampled more sparsely.
+    Path veryLongPath = new Path();
+    veryLongPath.lineTo(100000f, 0f);
+    assertThat(PathArcLengthTable.get(veryLongPath).getSampleCount()).isEqualTo(4096);
+  }
+
+  private static class TestColorProperty extends ColorReboundProperty<View> {
+
+    private TestColorProperty(Space space) {
+      super("color", space);
+    }
+
+    @Override
+    public int getColor(View target) {
+      return 0;
+    }
+
+    @Override
+    public void setColor(View target, int color) {
+    }
+  }
 }
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound.processor;
+
+import com.google.android.material.motion.family.rebound.annotations.SpringProperty;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a {@code <ClassName>ReboundProperties} class for every class with {@link
+ * SpringProperty} methods. Each generated property is a {@code FloatReboundProperty} which calls
+ * the annotated getter and setter directly, without reflection or boxing.
+ */
+public class SpringPropertyProcessor extends AbstractProcessor {
+
+  private static final String REBOUND_PACKAGE = "com.google.android.material.motion.family.rebound";
+  private static final String SUFFIX = "ReboundProperties";
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton(SpringProperty.class.getCanonicalName());
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    Map<TypeElement, Map<String, Accessors>> classes = new LinkedHashMap<>();
+
+    for (Element element : roundEnv.getElementsAnnotatedWith(SpringProperty.class)) {
+      ExecutableElement method = (ExecutableElement) element;
+      if (!isAccessible(method)) {
+        error(method, "@SpringProperty methods must not be private or static.");
+        continue;
+      }
+
+      String name = getPropertyName(method);
+      if (name == null) {
+        error(method, "@SpringProperty method names must start with get or set, "
+          + "or the property name must be specified.");
+        continue;
+      }
+
+      TypeElement type = (TypeElement) method.getEnclosingElement();
+      Map<String, Accessors> properties = classes.get(type);
+      if (properties == null) {
+        properties = new LinkedHashMap<>();
+        classes.put(type, properties);
+      }
+      Accessors accessors = properties.get(name);
+      if (accessors == null) {
+        accessors = new Accessors();
+        properties.put(name, accessors);
+      }
+
+      if (isGetter(method)) {
+        if (accessors.getter != null) {
+          error(method, "Duplicate @SpringProperty getter for \"" + name + "\".");
+        }
+        accessors.getter = method;
+      } else if (isSetter(method)) {
+        if (accessors.setter != null) {
+          error(method, "Duplicate @SpringProperty setter for \"" + name + "\".");
+        }
+        accessors.setter = method;
+      } else {
+        error(method, "@SpringProperty methods must be a float getter without parameters "
+          + "or a void setter with a single float parameter.");
+      }
+    }
+
+    for (Map.Entry<TypeElement, Map<String, Accessors>> entry : classes.entrySet()) {
+      TypeElement type = entry.getKey();
+      if (!isAccessible(type)) {
+        error(type, "Classes with @SpringProperty methods must not be private.");
+        continue;
+      }
+
+      boolean complete = true;
+      for (Map.Entry<String, Accessors> property : entry.getValue().entrySet()) {
+        Accessors accessors = property.getValue();
+        if (accessors.getter == null || accessors.setter == null) {
+          Element method = accessors.getter != null ? accessors.getter : accessors.setter;
+          error(method, "@SpringProperty \"" + property.getKey() + "\" needs both a getter "
+            + "and a setter.");
+          complete = false;
+        }
+      }
+
+      if (complete) {
+        writeProperties(type, entry.getValue());
+      }
+    }
+
+    return true;
+  }
+
+  private void writeProperties(TypeElement type, Map<String, Accessors> properties) {
+    String packageName = getPackage(type).getQualifiedName().toString();
+    String className = getFlatName(type) + SUFFIX;
+    String targetName = type.getQualifiedName().toString();
+    if (!type.getTypeParameters().isEmpty()) {
+      StringBuilder wildcards = new StringBuilder("<?");
+      for (int i = 1; i < type.getTypeParameters().size(); i++) {
+        wildcards.append(", ?");
+      }
+      targetName += wildcards.append('>');
+    }
+
+    StringBuilder source = new StringBuilder();
+    if (!packageName.isEmpty()) {
+      source.append("package ").append(packageName).append(";\n\n");
+    }
+    source
+      .append("import ").append(REBOUND_PACKAGE).append(".FloatReboundProperty;\n")
+      .append("import ").append(REBOUND_PACKAGE).append(".ReboundProperty;\n\n")
+      .append("/**\n")
+      .append(" * Rebound properties of {@link ").append(type.getQualifiedName()).append("}.\n")
+      .append(" * <p>\n")
+      .append(" * Generated by ").append(getClass().getCanonicalName()).append(".\n")
+      .append(" */\n")
+      .append("public final class ").append(className).append(" {\n");
+
+    for (Map.Entry<String, Accessors> property : properties.entrySet()) {
+      Accessors accessors = property.getValue();
+      source
+        .append("\n")
+        .append("  public static final ReboundProperty<").append(targetName).append(", Float> ")
+        .append(getConstantName(property.getKey())).append(" =\n")
+        .append("    new FloatReboundProperty<").append(targetName).append(">(\"")
+        .append(property.getKey()).append("\") {\n")
+        .append("      @Override\n")
+        .append("      public float getValue(").append(targetName).append(" target) {\n")
+        .append("        return target.").append(accessors.getter.getSimpleName()).append("();\n")
+        .append("      }\n\n")
+        .append("      @Override\n")
+        .append("      public void setValue(").append(targetName)
+        .append(" target, float value) {\n")
+        .append("        target.").append(accessors.setter.getSimpleName()).append("(value);\n")
+        .append("      }\n")
+        .append("    };\n");
+    }
+
+    source
+      .append("\n")
+      .append("  private ").append(className).append("() {\n")
+      .append("  }\n")
+      .append("}\n");
+
+    String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+    try {
+      JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+      Writer writer = file.openWriter();
+      try {
+        writer.write(source.toString());
+      } finally {
+        writer.close();
+      }
+    } catch (IOException e) {
+      error(type, "Could not write " + qualifiedName + ": " + e.getMessage());
+    }
+  }
+
+  private static boolean isAccessible(ExecutableElement method) {
+    Set<Modifier> modifiers = method.getModifiers();
+    return !modifiers.contains(Modifier.PRIVATE) && !modifiers.contains(Modifier.STATIC);
+  }
+
+  private static boolean isAccessible(TypeElement type) {
+    for (Element element = type; element.getKind() != ElementKind.PACKAGE;
+         element = element.getEnclosingElement()) {
+      if (element.getModifiers().contains(Modifier.PRIVATE)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isGetter(ExecutableElement method) {
+    return method.getParameters().isEmpty() && method.getReturnType().getKind() == TypeKind.FLOAT;
+  }
+
+  private static boolean isSetter(ExecutableElement method) {
+    return method.getParameters().size() == 1
+      && method.getParameters().get(0).asType().getKind() == TypeKind.FLOAT
+      && method.getReturnType().getKind() == TypeKind.VOID;
+  }
+
+  /**
+   * Returns the property name from the annotation, or derives it from the method name. Returns
+   * null if neither is possible.
+   */
+  private static String getPropertyName(ExecutableElement method) {
+    String name = method.getAnnotation(SpringProperty.class).value();
+    if (!name.isEmpty()) {
+      return name;
+    }
+
+    String methodName = method.getSimpleName().toString();
+    boolean prefixed = methodName.startsWith("get") || methodName.startsWith("set");
+    if (prefixed && methodName.length() > 3) {
+      return Character.toLowerCase(methodName.charAt(3)) + methodName.substring(4);
+    }
+    return null;
+  }
+
+  /**
+   * Converts a camel case property name to an upper snake case constant name.
+   */
+  private static String getConstantName(String propertyName) {
+    StringBuilder constant = new StringBuilder();
+    for (int i = 0; i < propertyName.length(); i++) {
+      char c = propertyName.charAt(i);
+      if (Character.isUpperCase(c) && i > 0 && !Character.isUpperCase(propertyName.charAt(i - 1))) {
+        constant.append('_');
+      }
+      constant.append(Character.isJavaIdentifierPart(c) ? Character.toUpperCase(c) : '_');
+    }
+    return constant.toString();
+  }
+
+  /**
+   * Returns the type's name including its enclosing types, joined with underscores.
+   */
+  private static String getFlatName(TypeElement type) {
+    String name = type.getSimpleName().toString();
+    Element enclosing = type.getEnclosingElement();
+    while (enclosing.getKind() != ElementKind.PACKAGE) {
+      name = enclosing.getSimpleName() + "_" + name;
+      enclosing = enclosing.getEnclosingElement();
+    }
+    return name;
+  }
+
+  private static PackageElement getPackage(Element element) {
+    while (element.getKind() != ElementKind.PACKAGE) {
+      element = element.getEnclosingElement();
+    }
+    return (PackageElement) element;
+  }
+
+  private void error(Element element, String message) {
+    processingEnv.getMessager().printMessage(Kind.ERROR, message, element);
+  }
+
+  /**
+   * The annotated getter and setter of a property.
+   */
+  private static class Accessors {
+
+    private ExecutableElement getter;
+    private ExecutableElement setter;
+  }
+}
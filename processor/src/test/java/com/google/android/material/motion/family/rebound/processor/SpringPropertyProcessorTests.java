@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.rebound.processor;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+
+import com.google.testing.compile.JavaFileObjects;
+import java.util.Arrays;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class SpringPropertyProcessorTests {
+
+  /**
+   * Stands in for the Android library's property classes, which generated code extends.
+   */
+  private static final JavaFileObject REBOUND_PROPERTY = JavaFileObjects.forSourceLines(
+    "com.google.android.material.motion.family.rebound.ReboundProperty",
+    "package com.google.android.material.motion.family.rebound;",
+    "public class ReboundProperty<T, V> {",
+    "}");
+  private static final JavaFileObject FLOAT_REBOUND_PROPERTY = JavaFileObjects.forSourceLines(
+    "com.google.android.material.motion.family.rebound.FloatReboundProperty",
+    "package com.google.android.material.motion.family.rebound;",
+    "public abstract class FloatReboundProperty<T> extends ReboundProperty<T, Float> {",
+    "  public FloatReboundProperty(String name) {",
+    "  }",
+    "  public abstract float getValue(T target);",
+    "  public abstract void setValue(T target, float value);",
+    "}");
+
+  @Test
+  public void generatesPropertiesForAnnotatedAccessors() {
+    JavaFileObject card = JavaFileObjects.forSourceLines(
+      "test.Card",
+      "package test;",
+      "import com.google.android.material.motion.family.rebound.annotations.SpringProperty;",
+      "class Card {",
+      "  @SpringProperty",
+      "  float getCornerRadius() { return 0; }",
+      "  @SpringProperty",
+      "  void setCornerRadius(float radius) {}",
+      "  @SpringProperty(\"lift\")",
+      "  float elevation() { return 0; }",
+      "  @SpringProperty(\"lift\")",
+      "  void elevate(float lift) {}",
+      "}");
+
+    JavaFileObject expected = JavaFileObjects.forSourceLines(
+      "test.CardReboundProperties",
+      "package test;",
+      "import com.google.android.material.motion.family.rebound.FloatReboundProperty;",
+      "import com.google.android.material.motion.family.rebound.ReboundProperty;",
+      "public final class CardReboundProperties {",
+      "  public static final ReboundProperty<test.Card, Float> CORNER_RADIUS =",
+      "    new FloatReboundProperty<test.Card>(\"cornerRadius\") {",
+      "      @Override",
+      "      public float getValue(test.Card target) {",
+      "        return target.getCornerRadius();",
+      "      }",
+      "      @Override",
+      "      public void setValue(test.Card target, float value) {",
+      "        target.setCornerRadius(value);",
+      "      }",
+      "    };",
+      "  public static final ReboundProperty<test.Card, Float> LIFT =",
+      "    new FloatReboundProperty<test.Card>(\"lift\") {",
+      "      @Override",
+      "      public float getValue(test.Card target) {",
+      "        return target.elevation();",
+      "      }",
+      "      @Override",
+      "      public void setValue(test.Card target, float value) {",
+      "        target.elevate(value);",
+      "      }",
+      "    };",
+      "  private CardReboundProperties() {",
+      "  }",
+      "}");
+
+    assertAbout(javaSources())
+      .that(Arrays.asList(REBOUND_PROPERTY, FLOAT_REBOUND_PROPERTY, card))
+      .processedWith(new SpringPropertyProcessor())
+      .compilesWithoutError()
+      .and()
+      .generatesSources(expected);
+  }
+
+  @Test
+  public void rejectsNonFloatAccessors() {
+    JavaFileObject card = JavaFileObjects.forSourceLines(
+      "test.Card",
+      "package test;",
+      "import com.google.android.material.motion.family.rebound.annotations.SpringProperty;",
+      "class Card {",
+      "  @SpringProperty",
+      "  int getLift() { return 0; }",
+      "  @SpringProperty",
+      "  void setLift(float lift) {}",
+      "}");
+
+    assertAbout(javaSources())
+      .that(Arrays.asList(REBOUND_PROPERTY, FLOAT_REBOUND_PROPERTY, card))
+      .processedWith(new SpringPropertyProcessor())
+      .failsToCompile()
+      .withErrorContaining("must be a float getter without parameters")
+      .in(card).onLine(5);
+  }
+
+  @Test
+  public void rejectsPrivateAccessors() {
+    JavaFileObject card = JavaFileObjects.forSourceLines(
+      "test.Card",
+      "package test;",
+      "import com.google.android.material.motion.family.rebound.annotations.SpringProperty;",
+      "class Card {",
+      "  @SpringProperty",
+      "  private float getLift() { return 0; }",
+      "  @SpringProperty",
+      "  void setLift(float lift) {}",
+      "}");
+
+    assertAbout(javaSources())
+      .that(Arrays.asList(REBOUND_PROPERTY, FLOAT_REBOUND_PROPERTY, card))
+      .processedWith(new SpringPropertyProcessor())
+      .failsToCompile()
+      .withErrorContaining("must not be private or static")
+      .in(card).onLine(5);
+  }
+}
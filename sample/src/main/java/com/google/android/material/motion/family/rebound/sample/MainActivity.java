@@ -30,6 +30,7 @@ import com.google.android.libraries.remixer.ui.view.RemixerFragment;
 import com.google.android.material.motion.family.directmanipulation.Draggable;
 import com.google.android.material.motion.family.rebound.PausesSpring;
 import com.google.android.material.motion.family.rebound.ReboundProperty;
+import com.google.android.material.motion.family.rebound.SpringSpec;
 import com.google.android.material.motion.family.rebound.SpringTo;
 import com.google.android.material.motion.gestures.DragGestureRecognizer;
 import com.google.android.material.motion.runtime.MotionRuntime;
@@ -78,8 +79,7 @@ public class MainActivity extends AppCompatActivity {
             return false;
         }
 
-        float friction = (float) Math.sqrt(4 * tension); // Critically damped.
-        scaleTo.configuration = new SpringConfig(tension, friction);
+        scaleTo.configuration = SpringSpec.criticallyDamped(tension);
 
         runtime.addPlan(scaleTo, target);
 
@@ -92,8 +92,7 @@ public class MainActivity extends AppCompatActivity {
     DragGestureRecognizer gestureRecognizer = new DragGestureRecognizer();
     gestureRecognizer.dragSlop = 0;
 
-    float friction = (float) Math.sqrt(4 * tension); // Critically damped.
-    SpringConfig springConfig = new SpringConfig(tension, friction);
+    SpringConfig springConfig = SpringSpec.criticallyDamped(tension);
     SpringTo translationX = new SpringTo<>(ReboundProperty.TRANSLATION_X, 0f);
     SpringTo translationY = new SpringTo<>(ReboundProperty.TRANSLATION_Y, 0f);
     translationX.configuration = springConfig;
@@ -18,6 +18,7 @@ package com.google.android.material.motion.family.rebound.sample;
 import android.app.Application;
 
 import com.google.android.libraries.remixer.ui.RemixerInitialization;
+import com.google.android.material.motion.family.rebound.ReboundLeakDetector;
 
 /**
  * Required application implementation for Remixer.
@@ -28,5 +29,8 @@ public class ReboundApplication extends Application {
   public void onCreate() {
     super.onCreate();
     RemixerInitialization.initRemixer(this);
+    if (BuildConfig.DEBUG) {
+      ReboundLeakDetector.install(this);
+    }
   }
 }